@@ -0,0 +1,78 @@
+package com.eauction.buyer.benchmark;
+
+import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.json.BidResponseSerializer;
+import com.eauction.buyer.json.BuyerSerializer;
+import com.eauction.buyer.model.Buyer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Jackson serialization of the {@code show-bids/{productId}} response, through the reflective bean
+ * serializers and through the hand-written serializers of the {@code json} package
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BidResponseSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int bidCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper handWrittenObjectMapper;
+    private List<BidResponse> bidResponses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        handWrittenObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new SimpleModule()
+                        .addSerializer(new BidResponseSerializer())
+                        .addSerializer(new BuyerSerializer()))
+                .build();
+        bidResponses = new ArrayList<>(bidCount);
+        for (int index = 1; index <= bidCount; index++) {
+            Buyer buyer = Buyer.builder()
+                    .id(index)
+                    .firstName("Sandhya")
+                    .lastName("Soman")
+                    .address("Street " + index)
+                    .city("Kochi")
+                    .state("Kerala")
+                    .pin(682001)
+                    .phone("9876543210")
+                    .email("buyer" + index + "@example.com")
+                    .build();
+            bidResponses.add(BidResponse.builder()
+                    .id(index)
+                    .productId(1)
+                    .bidAmount(1000L + index)
+                    .buyer(buyer)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBidResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bidResponses);
+    }
+
+    @Benchmark
+    public byte[] serializeBidResponsesHandWritten() throws JsonProcessingException {
+        return handWrittenObjectMapper.writeValueAsBytes(bidResponses);
+    }
+}
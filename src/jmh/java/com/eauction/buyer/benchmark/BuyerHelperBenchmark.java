@@ -0,0 +1,59 @@
+package com.eauction.buyer.benchmark;
+
+import com.eauction.buyer.dto.BidBuyerRequest;
+import com.eauction.buyer.dto.BidRequest;
+import com.eauction.buyer.dto.BuyerRequest;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import com.eauction.buyer.util.BuyerHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link BuyerHelper} methods run for every bid
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuyerHelperBenchmark {
+
+    private static final String BID_END_DATE = "31-12-2099";
+
+    private BidBuyerRequest bidBuyerRequest;
+    private Long bidEndEpochDay;
+
+    @Setup
+    public void setUp() {
+        BuyerRequest buyerRequest = new BuyerRequest("Sandhya", "Soman", "Street 1", "Kochi", "Kerala", 682001,
+                "9876543210", "sandhya@example.com");
+        bidBuyerRequest = new BidBuyerRequest(new BidRequest(1, "1500"), buyerRequest);
+        bidEndEpochDay = BuyerHelper.toEpochDay(BID_END_DATE);
+    }
+
+    @Benchmark
+    public Long toEpochDay() {
+        return BuyerHelper.toEpochDay(BID_END_DATE);
+    }
+
+    @Benchmark
+    public boolean isFutureEpochDay() {
+        return BuyerHelper.isFutureEpochDay(bidEndEpochDay);
+    }
+
+    @Benchmark
+    public Buyer buildBuyer() {
+        return BuyerHelper.buildBuyer(bidBuyerRequest);
+    }
+
+    @Benchmark
+    public Bid buildBid() {
+        return BuyerHelper.buildBid(bidBuyerRequest, 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.eauction.buyer.benchmark;
+
+import com.eauction.buyer.cache.BuyerCache;
+import com.eauction.buyer.config.BuyerCacheConfig;
+import com.eauction.buyer.exception.TechnicalException;
+import com.eauction.buyer.model.Buyer;
+import com.eauction.buyer.repo.BuyerRepository;
+import com.eauction.buyer.service.SequenceService;
+import com.eauction.buyer.service.impl.BuyerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Buyer validation in {@link BuyerServiceImpl#addBuyer(Buyer)} with the database stubbed out, for
+ * both an accepted and a rejected buyer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuyerValidationBenchmark {
+
+    private BuyerServiceImpl buyerService;
+
+    @Setup
+    public void setUp() {
+        buyerService = new BuyerServiceImpl();
+        ReflectionTestUtils.setField(buyerService, "buyerRepository", stubBuyerRepository());
+        ReflectionTestUtils.setField(buyerService, "buyerCache", new BuyerCache(new BuyerCacheConfig()));
+        ReflectionTestUtils.setField(buyerService, "sequenceService", new SequenceService() {
+            @Override
+            public Integer getNextSequence(String sequenceName) {
+                return 1;
+            }
+
+            @Override
+            public List<Integer> getNextSequences(String sequenceName, int count) {
+                return Collections.nCopies(count, 1);
+            }
+
+            @Override
+            public void resetSequences() {
+            }
+        });
+    }
+
+    @Benchmark
+    public Buyer validBuyer() {
+        return buyerService.addBuyer(buyer("sandhya@example.com"));
+    }
+
+    @Benchmark
+    public Object invalidBuyer() {
+        try {
+            return buyerService.addBuyer(buyer("not-an-email"));
+        } catch (TechnicalException exc) {
+            return exc;
+        }
+    }
+
+    private Buyer buyer(String email) {
+        return Buyer.builder()
+                .firstName("Sandhya")
+                .lastName("Soman")
+                .phone("9876543210")
+                .email(email)
+                .build();
+    }
+
+    private BuyerRepository stubBuyerRepository() {
+        return (BuyerRepository) Proxy.newProxyInstance(BuyerRepository.class.getClassLoader(),
+                new Class<?>[]{BuyerRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByEmail":
+                            return Optional.empty();
+                        case "save":
+                            return args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,297 @@
+package com.eauction.buyer.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator firing a weighted mix of buyer API calls at a fixed rate. Latency is measured from the
+ * time a request was due rather than the time it was sent, so a stalled service shows up in the percentiles instead
+ * of silently lowering the rate. Every buyer places a bid before the first run, later bids go to pairs of product and
+ * buyer without a bid, and updates go to placed bids only, so the mix measures the successful paths.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class LoadGenerator {
+
+    private static final String BASE_PATH = "/e-auction/api/v1/buyer/";
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_CONCURRENCY = 64;
+    private static final int PLACE_ATTEMPTS = 10;
+
+    /**
+     * The operations of the mix, by the name used in {@code loadtest.mix}
+     */
+    public enum Operation {
+        PLACE_BID("place-bid"),
+        UPDATE_BID("update-bid"),
+        SHOW_BIDS("show-bids");
+
+        private final String mixName;
+
+        Operation(String mixName) {
+            this.mixName = mixName;
+        }
+
+        static Operation ofMixName(String mixName) {
+            for (Operation operation : values()) {
+                if (operation.mixName.equals(mixName)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in the mix: " + mixName);
+        }
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUri;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int products;
+    private final int buyers;
+    private final AtomicLong inFlight = new AtomicLong();
+    // Pairs of product and buyer with a bid placed or on its way, and the ones whose bid was placed
+    private final Set<Long> claimedBids = ConcurrentHashMap.newKeySet();
+    private final List<Long> placedBids = Collections.synchronizedList(new ArrayList<>());
+
+    public LoadGenerator(int port, String mix, int products, int buyers) {
+        this.baseUri = "http://localhost:" + port + BASE_PATH;
+        this.products = products;
+        this.buyers = buyers;
+        String[] entries = mix.split(",");
+        this.operations = new Operation[entries.length];
+        this.cumulativeWeights = new int[entries.length];
+        int totalWeight = 0;
+        for (int index = 0; index < entries.length; index++) {
+            String[] entry = entries[index].trim().split("=");
+            operations[index] = Operation.ofMixName(entry[0].trim());
+            totalWeight += Integer.parseInt(entry[1].trim());
+            cumulativeWeights[index] = totalWeight;
+        }
+    }
+
+    /**
+     * Places one bid per buyer, spread over the products, so that the buyers exist before the first run
+     *
+     * @return the number of bids placed
+     */
+    public int seed() throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        for (int buyer = 1; buyer <= buyers; buyer++) {
+            permits.acquire();
+            placeBid((buyer - 1) % products + 1, buyer).whenComplete((statusCode, exc) -> permits.release());
+        }
+        permits.acquire(SEED_CONCURRENCY);
+        return placedBids.size();
+    }
+
+    /**
+     * Fires requests at the given rate for the given duration and waits for the ones still in flight
+     *
+     * @param rate refers to the requests per second
+     * @param duration refers to the duration of the run
+     * @return the {@link Statistics} per {@link Operation}
+     */
+    public Map<Operation, Statistics> run(int rate, Duration duration) throws InterruptedException {
+        Map<Operation, Statistics> statistics = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            statistics.put(operation, new Statistics());
+        }
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        for (long dueNanos = startNanos; dueNanos < endNanos; dueNanos += intervalNanos) {
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            Operation operation = nextOperation();
+            Statistics operationStatistics = statistics.get(operation);
+            long requestDueNanos = dueNanos;
+            inFlight.incrementAndGet();
+            send(operation).whenComplete((statusCode, exc) -> {
+                operationStatistics.record(System.nanoTime() - requestDueNanos, statusCode);
+                inFlight.decrementAndGet();
+            });
+        }
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        statistics.values().forEach(operationStatistics -> operationStatistics.elapsedNanos = elapsedNanos);
+        return statistics;
+    }
+
+    private Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int index = 0; index < cumulativeWeights.length; index++) {
+            if (value < cumulativeWeights[index]) {
+                return operations[index];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private CompletableFuture<Integer> send(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case PLACE_BID:
+                // Looks for a pair without a bid, a duplicate is only sent once the pairs run out
+                long key = 0L;
+                for (int attempt = 0; attempt < PLACE_ATTEMPTS; attempt++) {
+                    key = key(random.nextInt(products) + 1, random.nextInt(buyers) + 1);
+                    if (!claimedBids.contains(key)) {
+                        break;
+                    }
+                }
+                return placeBid(productId(key), buyer(key));
+            case UPDATE_BID:
+                Long placedBid;
+                synchronized (placedBids) {
+                    placedBid = placedBids.isEmpty() ? null : placedBids.get(random.nextInt(placedBids.size()));
+                }
+                if (placedBid == null) {
+                    return send(Operation.SHOW_BIDS);
+                }
+                return send(HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT)
+                        .uri(URI.create(baseUri + "update-bid/" + productId(placedBid) + "/" + email(buyer(placedBid)) +
+                                "/" + bidAmount()))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build());
+            default:
+                return send(HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT)
+                        .uri(URI.create(baseUri + "show-bids/" + (random.nextInt(products) + 1)))
+                        .GET()
+                        .build());
+        }
+    }
+
+    private CompletableFuture<Integer> placeBid(int productId, int buyer) {
+        long key = key(productId, buyer);
+        claimedBids.add(key);
+        String body = String.format("{\"buyerRequest\":{\"firstName\":\"Loadtest\",\"lastName\":\"Buyer%d\"," +
+                        "\"address\":\"1 Test Street\",\"city\":\"Kochi\",\"state\":\"Kerala\",\"pin\":682001," +
+                        "\"phone\":\"%010d\",\"email\":\"%s\"},\"bidRequest\":{\"productId\":%d,\"bidAmount\":\"%d\"}}",
+                buyer, 9_000_000_000L + buyer, email(buyer), productId, bidAmount());
+        return send(HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT)
+                .uri(URI.create(baseUri + "place-bid"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build())
+                .whenComplete((statusCode, exc) -> {
+                    if (statusCode >= 200 && statusCode < 300) {
+                        placedBids.add(key);
+                    } else if (statusCode != 409) {
+                        // A conflict means the bid exists already, any other failure leaves the pair free
+                        claimedBids.remove(key);
+                    }
+                });
+    }
+
+    /**
+     * @return the status code of the response, -1 if there was none
+     */
+    private CompletableFuture<Integer> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, exc) -> exc == null ? response.statusCode() : -1);
+    }
+
+    private static long bidAmount() {
+        return 100 + ThreadLocalRandom.current().nextInt(100_000);
+    }
+
+    private static String email(int buyer) {
+        return "buyer" + buyer + "@loadtest.example.com";
+    }
+
+    private static long key(int productId, int buyer) {
+        return ((long) productId << Integer.SIZE) | buyer;
+    }
+
+    private static int productId(long key) {
+        return (int) (key >>> Integer.SIZE);
+    }
+
+    private static int buyer(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Latency and outcomes of one {@link Operation}
+     */
+    public static class Statistics {
+
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private long elapsedNanos;
+
+        void record(long latencyNanos, int statusCode) {
+            latency.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+            if (statusCode >= 200 && statusCode < 300) {
+                successes.increment();
+            } else if (statusCode >= 400 && statusCode < 500) {
+                // Only a duplicate bid sent once every pair has a bid is expected here
+                clientErrors.increment();
+            } else {
+                failures.increment();
+            }
+        }
+
+        public static void print(Map<Operation, Statistics> statistics, PrintStream out) {
+            out.printf(Locale.ROOT, "%-12s %9s %10s %9s %9s %9s %9s %9s %9s %9s%n", "operation", "requests", "req/s",
+                    "2xx", "4xx", "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+            Statistics total = new Statistics();
+            statistics.forEach((operation, operationStatistics) -> {
+                operationStatistics.print(operation.mixName, out);
+                total.latency.add(operationStatistics.latency);
+                total.successes.add(operationStatistics.successes.sum());
+                total.clientErrors.add(operationStatistics.clientErrors.sum());
+                total.failures.add(operationStatistics.failures.sum());
+                total.elapsedNanos = operationStatistics.elapsedNanos;
+            });
+            total.print("total", out);
+        }
+
+        private void print(String name, PrintStream out) {
+            long requests = latency.getTotalCount();
+            double seconds = Math.max(elapsedNanos, 1L) / 1e9;
+            out.printf(Locale.ROOT, "%-12s %9d %10.1f %9d %9d %9d %9.2f %9.2f %9.2f %9.2f%n", name, requests,
+                    requests / seconds, successes.sum(), clientErrors.sum(), failures.sum(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.eauction.buyer.loadtest;
+
+import com.eauction.buyer.EAuctionBuyerServiceApplication;
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * End-to-end load test of the buyer service. Starts an embedded Mongo, a {@link StubSellerService} and the service
+ * itself on free local ports, warms the service up with the same traffic and then reports the throughput and the
+ * latency percentiles of the measured run. Configured through {@code loadtest.*} system properties, see the
+ * {@code loadtest} profile of the pom.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class LoadTestHarness {
+
+    private static final String DATABASE = "eauctiondb-buyer-loadtest";
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+    private static final String EMBEDDED_MONGO_AUTO_CONFIGURATION =
+            "org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration";
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        Duration duration = duration("loadtest.duration", "60s");
+        Duration warmup = duration("loadtest.warmup", "15s");
+        String mix = System.getProperty("loadtest.mix", "place-bid=20,update-bid=30,show-bids=50");
+        int products = Integer.getInteger("loadtest.products", 100);
+        int buyers = Integer.getInteger("loadtest.buyers", 2000);
+        Duration sellerLatency = duration("loadtest.seller-latency", "20ms");
+        String profiles = System.getProperty("loadtest.profiles", "");
+        String[] profileNames = profiles.isBlank() ? new String[0] : profiles.split(",");
+
+        // Downloads the Mongo binaries on the first run only, later runs work offline from ~/.embedmongo
+        int mongoPort = Network.getFreeServerPort();
+        MongodExecutable mongodExecutable = MongodStarter.getDefaultInstance().prepare(MongodConfig.builder()
+                .version(Version.Main.PRODUCTION)
+                .net(new Net(mongoPort, Network.localhostIsIPv6()))
+                .build());
+        mongodExecutable.start();
+        try (StubSellerService sellerService = new StubSellerService(sellerLatency, products);
+             ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(EAuctionBuyerServiceApplication.class)
+                     .profiles(profileNames)
+                     .run("--server.port=0",
+                             "--spring.data.mongodb.uri=mongodb://localhost:" + mongoPort + "/" + DATABASE,
+                             "--" + EXCLUDE_PROPERTY + "=" + excludedAutoConfigurations(profileNames),
+                             "--spring.devtools.restart.enabled=false",
+                             "--app.migration.bid-amount.enabled=false",
+                             "--app.services.seller-service.host=localhost",
+                             "--app.services.seller-service.port=" + sellerService.getPort(),
+                             "--app.services.seller-service.product-search=" + StubSellerService.PRODUCT_SEARCH + "{product-id}")) {
+            int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+            LoadGenerator loadGenerator = new LoadGenerator(port, mix, products, buyers);
+            System.out.printf("Seeded %d bids for %d buyers%n", loadGenerator.seed(), buyers);
+
+            System.out.printf("Warming up for %s at %d req/s [mix: %s, profiles: %s]%n", warmup, rate, mix,
+                    profiles.isBlank() ? "default" : profiles);
+            loadGenerator.run(rate, warmup);
+
+            System.out.printf("Measuring for %s at %d req/s [sellerLatency: %s]%n", duration, rate, sellerLatency);
+            Map<LoadGenerator.Operation, LoadGenerator.Statistics> statistics = loadGenerator.run(rate, duration);
+            LoadGenerator.Statistics.print(statistics, System.out);
+        } finally {
+            mongodExecutable.stop();
+        }
+    }
+
+    /**
+     * Adds the embedded Mongo auto-configuration to the exclusions of the service, which the command line replaces
+     */
+    private static String excludedAutoConfigurations(String[] profileNames) {
+        if (Arrays.asList(profileNames).contains("reactive")) {
+            return EMBEDDED_MONGO_AUTO_CONFIGURATION;
+        }
+        YamlPropertiesFactoryBean yamlProperties = new YamlPropertiesFactoryBean();
+        yamlProperties.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yamlProperties.getObject();
+        String excluded = properties != null ? properties.getProperty(EXCLUDE_PROPERTY, "") : "";
+        return excluded.isBlank() ? EMBEDDED_MONGO_AUTO_CONFIGURATION : excluded + "," + EMBEDDED_MONGO_AUTO_CONFIGURATION;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,96 @@
+package com.eauction.buyer.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stub of the Seller Service serving the product search route with a fixed latency. Products {@code 1..products}
+ * exist and stay open for bids, any other product id is answered with 404.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class StubSellerService implements AutoCloseable {
+
+    public static final String PRODUCT_SEARCH = "/e-auction/api/v1/seller/show-products/";
+
+    private static final String PRODUCT_JSON = "{\"id\":%d,\"productName\":\"Load Test Product %d\"," +
+            "\"shortDescription\":\"Load test product\",\"detailedDescription\":\"Served by the stub seller service\"," +
+            "\"category\":\"Painting\",\"startingPrice\":100,\"bidEndDate\":\"%s\",\"sellerId\":1}";
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final long latencyMillis;
+    private final int products;
+    private final String bidEndDate;
+
+    public StubSellerService(Duration latency, int products) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.products = products;
+        this.bidEndDate = LocalDate.now().plusDays(30).format(DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+        this.executorService = Executors.newCachedThreadPool();
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.httpServer.createContext(PRODUCT_SEARCH, this::handle);
+        this.httpServer.setExecutor(executorService);
+        this.httpServer.start();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            sleep();
+            int productId = parseProductId(exchange.getRequestURI().getPath());
+            if (productId < 1 || productId > products) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = String.format(PRODUCT_JSON, productId, productId, bidEndDate).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleep() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int parseProductId(String path) {
+        try {
+            return Integer.parseInt(path.substring(PRODUCT_SEARCH.length()));
+        } catch (NumberFormatException exc) {
+            return -1;
+        }
+    }
+}
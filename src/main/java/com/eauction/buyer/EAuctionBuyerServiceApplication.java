@@ -1,6 +1,18 @@
 package com.eauction.buyer;
 
+import com.eauction.buyer.config.BidAmountMigrationConfig;
+import com.eauction.buyer.config.BidStreamConfig;
+import com.eauction.buyer.config.BidVersionConfig;
+import com.eauction.buyer.config.BulkConfig;
+import com.eauction.buyer.config.BuyerCacheConfig;
+import com.eauction.buyer.config.ConcurrencyLimitConfig;
+import com.eauction.buyer.config.ExecutorConfig;
+import com.eauction.buyer.config.IdempotencyConfig;
+import com.eauction.buyer.config.LeaderboardConfig;
 import com.eauction.buyer.config.SellerServiceConfig;
+import com.eauction.buyer.config.SequenceConfig;
+import com.eauction.buyer.config.SnapshotConfig;
+import com.eauction.buyer.config.WriteBehindConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -11,7 +23,19 @@ import org.springframework.context.annotation.ComponentScan;
 @EnableAutoConfiguration
 @ComponentScan
 @EnableConfigurationProperties({
-		SellerServiceConfig.class})
+		SellerServiceConfig.class,
+		SequenceConfig.class,
+		BulkConfig.class,
+		BidAmountMigrationConfig.class,
+		ExecutorConfig.class,
+		SnapshotConfig.class,
+		BuyerCacheConfig.class,
+		BidStreamConfig.class,
+		BidVersionConfig.class,
+		LeaderboardConfig.class,
+		IdempotencyConfig.class,
+		ConcurrencyLimitConfig.class,
+		WriteBehindConfig.class})
 public class EAuctionBuyerServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,206 @@
+package com.eauction.buyer.cache;
+
+import com.eauction.buyer.config.BidVersionConfig;
+import com.eauction.buyer.event.BidEvent;
+import com.eauction.buyer.event.BuyerEvent;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bid Version Tracker to tell whether the Bids of a Product changed since a client last fetched them. Each Product has
+ * a version bumped after every write of one of its Bids, a change of the Buyers bumps the version shared by all of
+ * them. The versions follow the change streams of bid_info and buyer_info, so that a write through any instance moves
+ * them forward to the cluster time of the change, and the writes of this instance bump them right away as well. The
+ * ETag carries an id of this instance, as the versions of two instances can match for different data while a change
+ * has not yet reached one of them, and a restart gets a new id. The versions of the Products not asked for lately are
+ * evicted, a Product without a version is at the highest version evicted so far. Change streams need a replica set; on
+ * a standalone Mongo only the writes of this instance are tracked.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+public class BidVersionTracker implements MeterBinder {
+
+    private static final Logger eLog = LoggerFactory.getLogger(BidVersionTracker.class);
+
+    private static final String METRIC_NAME = "bid.etag.requests";
+    private static final String FIELD_PRODUCT_ID = "productId";
+
+    @Autowired
+    private BidVersionConfig bidVersionConfig;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final String instanceId = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+    // Laid out like a cluster time, seconds in the high and a counter in the low half
+    private final long startVersion = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) << Integer.SIZE;
+    private final AtomicLong sharedVersion = new AtomicLong(startVersion);
+    // No evicted Product goes back to a version handed out before, a changed one moves past it
+    private final AtomicLong evictedVersion = new AtomicLong(startVersion);
+    private Cache<Integer, AtomicLong> versions;
+    private MessageListenerContainer messageListenerContainer;
+    private Counter notModifiedCounter;
+    private Counter modifiedCounter;
+
+    @PostConstruct
+    public void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(bidVersionConfig.getMaximumSize())
+                .expireAfterAccess(bidVersionConfig.getTimeToIdle())
+                .evictionListener((Integer productId, AtomicLong version, RemovalCause cause) -> {
+                    if (Objects.nonNull(version)) {
+                        evictedVersion.accumulateAndGet(version.get(), Math::max);
+                    }
+                })
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!bidVersionConfig.isChangeStreamEnabled()) {
+            return;
+        }
+        messageListenerContainer = new DefaultMessageListenerContainer(mongoTemplate);
+        messageListenerContainer.register(ChangeStreamRequest.builder(this::onBidChange)
+                .collection(mongoTemplate.getCollectionName(Bid.class))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build(), Document.class, this::onChangeStreamError);
+        messageListenerContainer.register(ChangeStreamRequest.builder(this::onBuyerChange)
+                .collection(mongoTemplate.getCollectionName(Buyer.class))
+                .build(), Document.class, this::onChangeStreamError);
+        messageListenerContainer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(messageListenerContainer)) {
+            messageListenerContainer.stop();
+        }
+    }
+
+    /**
+     * Returns the strong ETag of the current Bids of the given Product. It has to be taken before the Bids are read,
+     * so that a Bid written meanwhile changes the ETag of the next request.
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return the quoted ETag
+     */
+    public String getETag(Integer productId) {
+        AtomicLong version = versions.getIfPresent(productId);
+        return String.format("\"%s-%x-%x\"", instanceId, sharedVersion.get(),
+                Objects.nonNull(version) ? version.get() : evictedVersion.get());
+    }
+
+    /**
+     * Marks the Bids of the given Product as changed, once the change is visible in Mongo
+     *
+     * @param productId refers to attribute {@code productId}
+     */
+    public void bump(Integer productId) {
+        bump(productId, 0L);
+    }
+
+    /**
+     * Records whether a request for the Bids of a Product was answered with 304 Not Modified
+     *
+     * @param notModified refers to whether the client's copy was current
+     */
+    public void recordRequest(boolean notModified) {
+        if (Objects.isNull(notModifiedCounter)) {
+            return;
+        }
+        (notModified ? notModifiedCounter : modifiedCounter).increment();
+    }
+
+    @EventListener
+    public void onBidEvent(BidEvent bidEvent) {
+        bump(bidEvent.getBid().getProductId());
+    }
+
+    @EventListener
+    public void onBuyerEvent(BuyerEvent buyerEvent) {
+        // A Buyer's bids may span any product
+        advance(sharedVersion, 0L);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        notModifiedCounter = Counter.builder(METRIC_NAME)
+                .description("Requests for the Bids of a Product by outcome")
+                .tag("result", "not_modified")
+                .register(registry);
+        modifiedCounter = Counter.builder(METRIC_NAME)
+                .description("Requests for the Bids of a Product by outcome")
+                .tag("result", "modified")
+                .register(registry);
+    }
+
+    private void onBidChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        long clusterTime = clusterTime(message);
+        Document bid = message.getBody();
+        if (Objects.nonNull(bid) && bid.get(FIELD_PRODUCT_ID) instanceof Integer) {
+            bump(bid.getInteger(FIELD_PRODUCT_ID), clusterTime);
+        } else {
+            // A deleted bid no longer tells its product
+            advance(sharedVersion, clusterTime);
+        }
+    }
+
+    private void onBuyerChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        // A new Buyer has no bids shown yet, the bid placed with it changes its product
+        if (message.getRaw().getOperationType() != OperationType.INSERT) {
+            advance(sharedVersion, clusterTime(message));
+        }
+    }
+
+    private void onChangeStreamError(Throwable exc) {
+        eLog.warn("Bid versions no longer follow the change streams, writes through other instances go unnoticed: {}",
+                exc.getMessage());
+    }
+
+    private void bump(Integer productId, long clusterTime) {
+        advance(versions.get(productId, id -> new AtomicLong(evictedVersion.get())), clusterTime);
+    }
+
+    /**
+     * Moves the version forward to the given cluster time, and by one at least
+     */
+    private static void advance(AtomicLong version, long clusterTime) {
+        version.accumulateAndGet(clusterTime, (current, candidate) -> Math.max(current + 1, candidate));
+    }
+
+    private static long clusterTime(Message<ChangeStreamDocument<Document>, Document> message) {
+        BsonTimestamp clusterTime = message.getRaw().getClusterTime();
+        return Objects.nonNull(clusterTime) ? clusterTime.getValue() : 0L;
+    }
+}
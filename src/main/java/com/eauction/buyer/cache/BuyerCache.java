@@ -0,0 +1,71 @@
+package com.eauction.buyer.cache;
+
+import com.eauction.buyer.config.BuyerCacheConfig;
+import com.eauction.buyer.model.Buyer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Buyer Cache to resolve a Buyer by its email without a Mongo round trip. Entries are invalidated whenever a Buyer is
+ * written, by this instance directly and by the other instances through the {@link BuyerCacheInvalidator}. The time
+ * to live bounds the staleness should an invalidation be missed.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+public class BuyerCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "buyer-cache";
+
+    private final Cache<String, Buyer> cache;
+
+    public BuyerCache(BuyerCacheConfig buyerCacheConfig) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(buyerCacheConfig.getMaximumSize())
+                .expireAfterWrite(buyerCacheConfig.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached Buyer for the given email
+     *
+     * @param email refers to attribute {@code email} of type {@link Buyer}
+     * @return the cached {@link Buyer} or {@code null} on a cache miss
+     */
+    public Buyer get(String email) {
+        return cache.getIfPresent(email);
+    }
+
+    /**
+     * Returns the cached Buyer for the given email, loading it on a miss. An invalidation while the Buyer is loaded
+     * waits for the load, so a load never overwrites a newer invalidation.
+     *
+     * @param email refers to attribute {@code email} of type {@link Buyer}
+     * @param loader refers to the function loading the Buyer, returning {@code null} if it doesn't exist
+     * @return the {@link Buyer} or {@code null} if it doesn't exist
+     */
+    public Buyer get(String email, Function<String, Buyer> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,79 @@
+package com.eauction.buyer.cache;
+
+import com.eauction.buyer.config.BuyerCacheConfig;
+import com.eauction.buyer.model.Buyer;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+
+/**
+ * Buyer Cache Invalidator following the change stream of the buyer_info collection, so that a Buyer written by any
+ * instance is evicted from the {@link BuyerCache} of every instance. Change streams need a replica set; on a
+ * standalone Mongo the cache relies on its time to live instead.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+public class BuyerCacheInvalidator {
+
+    private static final Logger eLog = LoggerFactory.getLogger(BuyerCacheInvalidator.class);
+
+    private static final String FIELD_EMAIL = "email";
+
+    @Autowired
+    private BuyerCacheConfig buyerCacheConfig;
+    @Autowired
+    private BuyerCache buyerCache;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private MessageListenerContainer messageListenerContainer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!buyerCacheConfig.isChangeStreamEnabled()) {
+            return;
+        }
+        ChangeStreamRequest<Document> changeStreamRequest = ChangeStreamRequest.builder(this::onChange)
+                .collection(mongoTemplate.getCollectionName(Buyer.class))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build();
+        messageListenerContainer = new DefaultMessageListenerContainer(mongoTemplate);
+        messageListenerContainer.register(changeStreamRequest, Document.class, exc -> eLog.warn(
+                "Buyer cache invalidation through the change stream stopped, entries expire after {}: {}",
+                buyerCacheConfig.getTimeToLive(), exc.getMessage()));
+        messageListenerContainer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(messageListenerContainer)) {
+            messageListenerContainer.stop();
+        }
+    }
+
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        Document buyer = message.getBody();
+        if (Objects.nonNull(buyer) && buyer.get(FIELD_EMAIL) instanceof String) {
+            buyerCache.invalidate(buyer.getString(FIELD_EMAIL));
+        } else {
+            // A deleted buyer no longer tells its email
+            buyerCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.eauction.buyer.cache;
+
+import com.eauction.buyer.config.IdempotencyConfig;
+import com.eauction.buyer.exception.InvalidOperationException;
+import com.eauction.buyer.exception.TechnicalException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.eauction.buyer.util.FutureHelper.await;
+
+/**
+ * Idempotency Store to run a request carrying an {@code Idempotency-Key} only once. The outcome of the first request
+ * with a key, its response or a client error, is kept for the time to live and replayed to the retries; a retry
+ * arriving while the first request is still running waits for its outcome. Server errors are not kept, so that a
+ * retry runs the request again.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final String CACHE_NAME = "idempotency-store";
+    private static final String METRIC_NAME = "idempotency.requests";
+
+    private final Cache<String, IdempotentRequest> cache;
+    private final Duration waitTimeout;
+    private Counter executedCounter;
+    private Counter replayedCounter;
+    private Counter joinedCounter;
+
+    public IdempotencyStore(IdempotencyConfig idempotencyConfig) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(idempotencyConfig.getMaximumSize())
+                .expireAfterWrite(idempotencyConfig.getTimeToLive())
+                .recordStats()
+                .build();
+        this.waitTimeout = idempotencyConfig.getWaitTimeout();
+    }
+
+    /**
+     * Runs the given action once per operation and Idempotency Key
+     *
+     * @param operation refers to the name of the operation the key is scoped to
+     * @param idempotencyKey refers to the {@code Idempotency-Key} header, the action simply runs if it is missing
+     * @param request refers to the request, a retry has to be equal to the first request
+     * @param action refers to the action producing the response
+     * @param <T> refers to the response body type
+     * @return the response of the first request with the key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String operation, String idempotencyKey, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (Objects.isNull(idempotencyKey)) {
+            return action.get();
+        }
+        String key = operation + ':' + idempotencyKey;
+        IdempotentRequest idempotentRequest = new IdempotentRequest(request);
+        IdempotentRequest firstRequest = cache.asMap().putIfAbsent(key, idempotentRequest);
+        if (Objects.nonNull(firstRequest)) {
+            if (!Objects.equals(firstRequest.request, request)) {
+                throw new InvalidOperationException(String.format("The Idempotency-Key was already used for a " +
+                        "different request [idempotencyKey: %s]", idempotencyKey));
+            }
+            count(firstRequest.response.isDone() ? replayedCounter : joinedCounter);
+            return (ResponseEntity<T>) await(firstRequest.response, waitTimeout);
+        }
+        count(executedCounter);
+        try {
+            ResponseEntity<T> response = action.get();
+            idempotentRequest.response.complete(response);
+            return response;
+        } catch (RuntimeException exc) {
+            if (!isReplayable(exc)) {
+                cache.asMap().remove(key, idempotentRequest);
+            }
+            idempotentRequest.response.completeExceptionally(exc);
+            throw exc;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        executedCounter = counter(registry, "executed");
+        replayedCounter = counter(registry, "replayed");
+        joinedCounter = counter(registry, "joined");
+    }
+
+    /**
+     * A client error is the outcome of the request itself, unlike a server error or a rejection under load
+     */
+    private static boolean isReplayable(RuntimeException exc) {
+        if (!(exc instanceof TechnicalException)) {
+            return false;
+        }
+        HttpStatus status = ((TechnicalException) exc).getStatus();
+        return Objects.nonNull(status) && status.is4xxClientError() && status != HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("Requests carrying an Idempotency-Key by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static void count(Counter counter) {
+        if (Objects.nonNull(counter)) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * The first request with a key and its outcome
+     */
+    private static class IdempotentRequest {
+
+        private final Object request;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        IdempotentRequest(Object request) {
+            this.request = request;
+        }
+    }
+}
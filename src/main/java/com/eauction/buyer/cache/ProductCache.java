@@ -0,0 +1,133 @@
+package com.eauction.buyer.cache;
+
+import com.eauction.buyer.config.SellerServiceConfig;
+import com.eauction.buyer.dto.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.eauction.buyer.util.BuyerHelper.toEpochMilli;
+
+/**
+ * Product Cache to hold the Products retrieved from the Seller Service. An entry never outlives the product's
+ * {@code bidEndDate} and products that don't exist are remembered for a short period only. The last known good copy
+ * of a product is kept for longer, to stand in while the Seller Service is unavailable.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "product-cache";
+    private static final String STALE_CACHE_NAME = "product-stale-cache";
+
+    private final Cache<Integer, Optional<Product>> cache;
+    private final Cache<Integer, Product> staleCache;
+
+    public ProductCache(SellerServiceConfig sellerServiceConfig) {
+        SellerServiceConfig.Cache cacheConfig = sellerServiceConfig.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfter(new ProductExpiry(cacheConfig.getTimeToLive(), cacheConfig.getNotFoundTimeToLive()))
+                .recordStats()
+                .build();
+        this.staleCache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getStaleTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached lookup result for the given Product Id
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return {@code null} on a cache miss, an empty {@link Optional} if the product is known not to exist
+     */
+    public Optional<Product> get(Integer productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    /**
+     * Returns the last known good copy of the given Product, which may have expired from the cache already
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return the last {@link Product} retrieved or {@code null} if there is none within the stale time to live
+     */
+    public Product getStale(Integer productId) {
+        return staleCache.getIfPresent(productId);
+    }
+
+    public void put(Integer productId, Product product) {
+        cache.put(productId, Optional.of(product));
+        staleCache.put(productId, product);
+    }
+
+    public void putNotFound(Integer productId) {
+        cache.put(productId, Optional.empty());
+        staleCache.invalidate(productId);
+    }
+
+    public void invalidate(Integer productId) {
+        cache.invalidate(productId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(registry, staleCache, STALE_CACHE_NAME);
+    }
+
+    /**
+     * Expires a found product at its {@code bidEndDate} or after the configured time to live, whichever is earlier
+     */
+    private static class ProductExpiry implements Expiry<Integer, Optional<Product>> {
+
+        private final long timeToLiveNanos;
+        private final long notFoundTimeToLiveNanos;
+
+        ProductExpiry(Duration timeToLive, Duration notFoundTimeToLive) {
+            this.timeToLiveNanos = timeToLive.toNanos();
+            this.notFoundTimeToLiveNanos = notFoundTimeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Integer productId, Optional<Product> product, long currentTime) {
+            if (product.isEmpty()) {
+                return notFoundTimeToLiveNanos;
+            }
+            Long bidEndEpochDay = product.get().getBidEndEpochDay();
+            if (bidEndEpochDay == null) {
+                return timeToLiveNanos;
+            }
+            long untilBidEnd = TimeUnit.MILLISECONDS.toNanos(toEpochMilli(bidEndEpochDay) - System.currentTimeMillis());
+            return Math.max(0L, Math.min(timeToLiveNanos, untilBidEnd));
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer productId, Optional<Product> product, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(productId, product, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer productId, Optional<Product> product, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
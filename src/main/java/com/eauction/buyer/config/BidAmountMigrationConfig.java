@@ -0,0 +1,17 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bid Amount Migration Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.migration.bid-amount")
+public class BidAmountMigrationConfig {
+    private boolean enabled = true;
+    private int batchSize = 500;
+}
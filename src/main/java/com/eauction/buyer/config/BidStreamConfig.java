@@ -0,0 +1,24 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bid Stream Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bid-stream")
+public class BidStreamConfig {
+    private int queueCapacity = 64;
+    private int drainPoolSize = 16;
+    private int drainQueueCapacity = 10000;
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+    // How long the NDJSON export of show-bids/stream may take
+    private Duration exportTimeout = Duration.ofMinutes(30);
+}
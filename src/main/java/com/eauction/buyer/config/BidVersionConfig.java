@@ -0,0 +1,21 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bid Version Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bid-version")
+public class BidVersionConfig {
+    private boolean changeStreamEnabled = true;
+    private long maximumSize = 100_000;
+    // Versions of the Products not asked for or changed for this long are evicted
+    private Duration timeToIdle = Duration.ofHours(1);
+}
@@ -0,0 +1,16 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk Configuration class for the batch endpoints
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkConfig {
+    private int maxBatchSize = 1000;
+}
@@ -0,0 +1,20 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Buyer Cache Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.buyer-cache")
+public class BuyerCacheConfig {
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+    private boolean changeStreamEnabled = true;
+}
@@ -0,0 +1,34 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Concurrency Limit Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitConfig {
+    private boolean enabled = true;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private Budget read = new Budget();
+    private Budget write = new Budget();
+
+    /**
+     * Adaptive Limit Configuration of a class of endpoints
+     */
+    @Data
+    public static class Budget {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        // A request slower than this, or failing with a server error, shrinks the limit
+        private Duration latencyThreshold = Duration.ofMillis(250);
+        private double backoffRatio = 0.9;
+    }
+}
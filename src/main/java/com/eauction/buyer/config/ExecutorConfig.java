@@ -0,0 +1,18 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Executor Configuration class for the blocking I/O run next to the request thread
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.executor")
+public class ExecutorConfig {
+    private boolean virtualThreads = true;
+    private int poolSize = 64;
+    private int queueCapacity = 1000;
+}
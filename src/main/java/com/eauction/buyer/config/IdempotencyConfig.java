@@ -0,0 +1,20 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency Key Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyConfig {
+    private long maximumSize = 100_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
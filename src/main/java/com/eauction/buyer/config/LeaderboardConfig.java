@@ -0,0 +1,20 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Leaderboard Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.leaderboard")
+public class LeaderboardConfig {
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofHours(1);
+    private Duration closedTimeToLive = Duration.ofMinutes(5);
+}
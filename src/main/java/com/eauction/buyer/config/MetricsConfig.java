@@ -0,0 +1,34 @@
+package com.eauction.buyer.config;
+
+import com.eauction.buyer.metrics.MongoCommandMetricsListener;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Configuration Class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records the methods annotated with {@link io.micrometer.core.annotation.Timed}
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Applies to the blocking and the reactive Mongo client alike
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MeterRegistry meterRegistry) {
+        return settingsBuilder -> settingsBuilder.addCommandListener(new MongoCommandMetricsListener(meterRegistry));
+    }
+}
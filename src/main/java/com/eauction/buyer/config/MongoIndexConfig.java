@@ -0,0 +1,62 @@
+package com.eauction.buyer.config;
+
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Mongo Index Configuration to ensure the indexes the services rely on exist at startup
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final String FIELD_PRODUCT_ID = "productId";
+    private static final String FIELD_BUYER_ID = "buyerId";
+    private static final String FIELD_BID_AMOUNT = "bidAmount";
+    private static final String FIELD_EMAIL = "email";
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        // A buyer can place only one bid per product
+        try {
+            mongoOperations.indexOps(Bid.class).ensureIndex(new Index()
+                    .on(FIELD_PRODUCT_ID, Sort.Direction.ASC)
+                    .on(FIELD_BUYER_ID, Sort.Direction.ASC)
+                    .unique()
+                    .named("productId_buyerId_unique"));
+        } catch (DataAccessException exc) {
+            // Placing a bid relies on the index alone to reject a second bid of the buyer, so it cannot start without it
+            throw new IllegalStateException("The unique bid index cannot be created, duplicate bids of a buyer for " +
+                    "a product need to be merged first", exc);
+        }
+        // Serves the highest bid queries of a product
+        mongoOperations.indexOps(Bid.class).ensureIndex(new Index()
+                .on(FIELD_PRODUCT_ID, Sort.Direction.ASC)
+                .on(FIELD_BID_AMOUNT, Sort.Direction.DESC)
+                .named("productId_bidAmount_desc"));
+        // Resolves a buyer by email, one buyer per email
+        try {
+            mongoOperations.indexOps(Buyer.class).ensureIndex(new Index()
+                    .on(FIELD_EMAIL, Sort.Direction.ASC)
+                    .unique()
+                    .named("email_unique"));
+        } catch (DataAccessException exc) {
+            // Adding a buyer relies on the index to detect an email added concurrently
+            throw new IllegalStateException("The unique email index cannot be created, duplicate buyer emails need " +
+                    "to be merged first", exc);
+        }
+    }
+}
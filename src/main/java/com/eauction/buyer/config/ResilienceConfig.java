@@ -0,0 +1,90 @@
+package com.eauction.buyer.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Resilience Configuration Class for the Circuit Breaker and Bulkhead guarding the Seller Service calls
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Configuration
+public class ResilienceConfig {
+
+    private static final Logger eLog = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    private static final String SELLER_SERVICE = "seller-service";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        return BulkheadRegistry.ofDefaults();
+    }
+
+    @Bean
+    public CircuitBreaker sellerServiceCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                      SellerServiceConfig sellerServiceConfig,
+                                                      MeterRegistry meterRegistry) {
+        SellerServiceConfig.Resilience resilience = sellerServiceConfig.getResilience();
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDurationThreshold())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(resilience.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A client error is an answer of a healthy Seller Service
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(SELLER_SERVICE, circuitBreakerConfig);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition stateTransition = event.getStateTransition();
+            eLog.warn("Seller Service circuit breaker transitioned [from: {}, to: {}]",
+                    stateTransition.getFromState(), stateTransition.getToState());
+            meterRegistry.counter("seller.service.circuit.transitions",
+                    "from", stateTransition.getFromState().name(),
+                    "to", stateTransition.getToState().name()).increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead sellerServiceBulkhead(BulkheadRegistry bulkheadRegistry, SellerServiceConfig sellerServiceConfig) {
+        SellerServiceConfig.Resilience resilience = sellerServiceConfig.getResilience();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(resilience.getMaxConcurrentCalls())
+                .maxWaitDuration(resilience.getMaxWaitDuration())
+                .build();
+        return bulkheadRegistry.bulkhead(SELLER_SERVICE, bulkheadConfig);
+    }
+
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry bulkheadRegistry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+    }
+}
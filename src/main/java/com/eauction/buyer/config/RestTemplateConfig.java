@@ -1,11 +1,20 @@
 package com.eauction.buyer.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * RestTemplate Configuration Class
  *
@@ -15,10 +24,59 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String POOL_NAME = "seller-service";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager sellerServiceConnectionManager(SellerServiceConfig sellerServiceConfig) {
+        SellerServiceConfig.Connection connection = sellerServiceConfig.getConnection();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(connection.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(connection.getMaxPerRoute());
+        return connectionManager;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
+    public MeterBinder sellerServiceConnectionPoolMetrics(PoolingHttpClientConnectionManager sellerServiceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(sellerServiceConnectionManager, POOL_NAME);
+    }
+
+    /**
+     * The pooled client of the Seller Service. Closing it stops its idle connection evictor, the connection manager is
+     * shared and closed as a bean of its own.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient sellerServiceHttpClient(SellerServiceConfig sellerServiceConfig,
+                                                       PoolingHttpClientConnectionManager sellerServiceConnectionManager) {
+        SellerServiceConfig.Connection connection = sellerServiceConfig.getConnection();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connection.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) connection.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) connection.getPoolAcquireTimeout().toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(sellerServiceConnectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(connection.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(connection.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient sellerServiceHttpClient) {
         HttpComponentsClientHttpRequestFactory clientHttpRequestFactory = new HttpComponentsClientHttpRequestFactory();
-        clientHttpRequestFactory.setHttpClient(HttpClients.createDefault());
+        clientHttpRequestFactory.setHttpClient(sellerServiceHttpClient);
         return new RestTemplate(clientHttpRequestFactory);
     }
+
+    /**
+     * Honours the server's Keep-Alive header but never keeps a connection longer than the configured duration
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy(long maxKeepAliveMillis) {
+        return (response, context) -> {
+            long keepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAliveMillis > 0 ? Math.min(keepAliveMillis, maxKeepAliveMillis) : maxKeepAliveMillis;
+        };
+    }
 }
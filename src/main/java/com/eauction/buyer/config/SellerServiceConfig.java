@@ -3,6 +3,8 @@ package com.eauction.buyer.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Seller Service Configuration class
  *
@@ -16,4 +18,51 @@ public class SellerServiceConfig {
     private String host;
     private Integer port = -1;
     private String productSearch;
+    private Cache cache = new Cache();
+    private Connection connection = new Connection();
+    private Resilience resilience = new Resilience();
+
+    /**
+     * Product Cache Configuration
+     */
+    @Data
+    public static class Cache {
+        private long maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(5);
+        private Duration notFoundTimeToLive = Duration.ofSeconds(30);
+        // How long the last known good copy of a product may stand in while the Seller Service is unavailable
+        private Duration staleTimeToLive = Duration.ofMinutes(30);
+    }
+
+    /**
+     * HTTP Connection Pool Configuration
+     */
+    @Data
+    public static class Connection {
+        private int maxTotal = 200;
+        private int maxPerRoute = 100;
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration readTimeout = Duration.ofSeconds(2);
+        private Duration poolAcquireTimeout = Duration.ofMillis(500);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration idleEviction = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Circuit Breaker, Bulkhead and Background Refresh Configuration
+     */
+    @Data
+    public static class Resilience {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 50;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+        private int maxConcurrentCalls = 50;
+        private Duration maxWaitDuration = Duration.ZERO;
+        private int refreshPoolSize = 2;
+        private int refreshQueueCapacity = 100;
+    }
 }
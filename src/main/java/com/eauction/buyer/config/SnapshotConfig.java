@@ -0,0 +1,17 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Snapshot Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.snapshot")
+public class SnapshotConfig {
+    private String directory = "snapshots";
+    private int batchSize = 1000;
+}
@@ -0,0 +1,109 @@
+package com.eauction.buyer.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task Executor Configuration Class. Runs the requests and the I/O started next to them on virtual threads when the
+ * runtime provides them, and the I/O on a bounded pool otherwise.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Configuration
+public class TaskExecutorConfig {
+
+    private static final Logger eLog = LoggerFactory.getLogger(TaskExecutorConfig.class);
+
+    private static final String EXECUTOR_NAME = "io-executor";
+
+    /**
+     * The executor of the blocking I/O, also handling the requests when it runs on virtual threads. It is shut down with
+     * the context once the web server has stopped.
+     *
+     * @param executorConfig refers to type {@link ExecutorConfig}
+     * @return the executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ioExecutor(ExecutorConfig executorConfig) {
+        Optional<ExecutorService> virtualThreadExecutor = executorConfig.isVirtualThreads()
+                ? newVirtualThreadExecutor() : Optional.empty();
+        if (virtualThreadExecutor.isPresent()) {
+            eLog.info("Blocking I/O runs on virtual threads");
+            return virtualThreadExecutor.get();
+        }
+        // Runs the task on the calling thread once the queue is full, so an overload degrades to sequential calls
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(executorConfig.getPoolSize(),
+                executorConfig.getPoolSize(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(executorConfig.getQueueCapacity()),
+                new CustomizableThreadFactory(EXECUTOR_NAME + "-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    @Bean
+    public MeterBinder ioExecutorMetrics(ExecutorService ioExecutor) {
+        return new ExecutorServiceMetrics(ioExecutor, EXECUTOR_NAME, Collections.emptyList());
+    }
+
+    @Bean
+    @Conditional(VirtualThreadsCondition.class)
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService ioExecutor) {
+        return protocolHandler -> {
+            eLog.info("Requests are handled on virtual threads");
+            protocolHandler.setExecutor(ioExecutor);
+        };
+    }
+
+    /**
+     * Creates a virtual thread per task executor through reflection, as the service is still built for Java 11
+     *
+     * @return the executor, empty if not supported by the runtime
+     */
+    private static Optional<ExecutorService> newVirtualThreadExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException | UnsupportedOperationException exc) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Matches when virtual threads are enabled through app.executor.virtual-threads and the runtime provides them, that
+     * is when the io executor runs on virtual threads
+     */
+    static class VirtualThreadsCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!context.getEnvironment().getProperty("app.executor.virtual-threads", Boolean.class, true)) {
+                return false;
+            }
+            // Preview runtimes declare the factory but refuse to create the executor, so probe with a real one
+            Optional<ExecutorService> probe = newVirtualThreadExecutor();
+            probe.ifPresent(ExecutorService::shutdown);
+            return probe.isPresent();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.eauction.buyer.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * WebClient Configuration Class for the reactive stack. Mirrors the connection pool settings of the
+ * {@link RestTemplateConfig}.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Configuration
+@Profile("reactive")
+public class WebClientConfig {
+
+    private static final String POOL_NAME = "seller-service";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider sellerServiceConnectionProvider(SellerServiceConfig sellerServiceConfig) {
+        SellerServiceConfig.Connection connection = sellerServiceConfig.getConnection();
+        // The pool only ever serves the seller service, so the per route limit applies
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(connection.getMaxPerRoute())
+                .pendingAcquireTimeout(connection.getPoolAcquireTimeout())
+                .maxIdleTime(connection.getKeepAlive())
+                .evictInBackground(connection.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient sellerServiceWebClient(WebClient.Builder webClientBuilder, SellerServiceConfig sellerServiceConfig,
+                                            ConnectionProvider sellerServiceConnectionProvider) {
+        SellerServiceConfig.Connection connection = sellerServiceConfig.getConnection();
+        HttpClient httpClient = HttpClient.create(sellerServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connection.getConnectTimeout().toMillis())
+                .responseTimeout(connection.getReadTimeout());
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.eauction.buyer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write-Behind Bid Ingestion Configuration class
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindConfig {
+    private boolean enabled = false;
+    private String journalDirectory = "journal";
+    private long segmentSize = 64L * 1024 * 1024;
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(50);
+    private Duration ackTimeout = Duration.ofSeconds(5);
+}
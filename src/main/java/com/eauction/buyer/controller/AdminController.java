@@ -0,0 +1,70 @@
+package com.eauction.buyer.controller;
+
+import com.eauction.buyer.common.RestApiController;
+import com.eauction.buyer.dto.SnapshotInfo;
+import com.eauction.buyer.service.SnapshotService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin Controller to perform maintenance actions away from the buyer API. It is only mapped when
+ * {@code app.admin.enabled} is set, as its endpoints can replace the whole dataset.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Api(tags = "E-Auction Buyer Admin REST Controller")
+@RestApiController("e-auction/api/v1/admin")
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.admin", name = "enabled", havingValue = "true")
+public class AdminController {
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Exports the Bid and Buyer collections into a new compressed binary snapshot on the service's disk
+     *
+     * @return the exported snapshot of type {@link SnapshotInfo}
+     */
+    @ApiOperation(value = "Exports a snapshot of the Bids and Buyers", response = SnapshotInfo.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = SnapshotInfo.class),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @PostMapping("snapshots")
+    @ResponseBody
+    public ResponseEntity<SnapshotInfo> exportSnapshot() {
+        return ResponseEntity.ok(snapshotService.exportSnapshot());
+    }
+
+    /**
+     * Imports the given snapshot with batched inserts
+     *
+     * @param name refers to attribute {@code name} of type {@link SnapshotInfo}
+     * @param replace refers to a boolean value to denote the collections are emptied before the import
+     * @return the imported snapshot of type {@link SnapshotInfo}
+     */
+    @ApiOperation(value = "Imports a snapshot of the Bids and Buyers", response = SnapshotInfo.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = SnapshotInfo.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Snapshot not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @PostMapping("snapshots/{name}/import")
+    @ResponseBody
+    public ResponseEntity<SnapshotInfo> importSnapshot(@PathVariable("name") String name,
+                                                       @RequestParam(value = "replace", defaultValue = "false") Boolean replace) {
+        return ResponseEntity.ok(snapshotService.importSnapshot(name, replace));
+    }
+}
@@ -1,33 +1,63 @@
 package com.eauction.buyer.controller;
 
+import com.eauction.buyer.cache.BidVersionTracker;
+import com.eauction.buyer.cache.IdempotencyStore;
 import com.eauction.buyer.common.RestApiController;
+import com.eauction.buyer.config.BidStreamConfig;
 import com.eauction.buyer.dto.BidBuyerRequest;
 import com.eauction.buyer.dto.BidBuyerResponse;
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidRank;
 import com.eauction.buyer.dto.BidRequest;
 import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.dto.BulkItemResult;
+import com.eauction.buyer.dto.Product;
+import com.eauction.buyer.exception.TechnicalException;
 import com.eauction.buyer.model.Bid;
 import com.eauction.buyer.model.Buyer;
 import com.eauction.buyer.service.BidService;
+import com.eauction.buyer.service.BidStreamService;
 import com.eauction.buyer.service.BuyerService;
+import com.eauction.buyer.service.LeaderboardService;
+import com.eauction.buyer.service.ProductService;
+import com.eauction.buyer.util.BuyerHelper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import static com.eauction.buyer.cache.IdempotencyStore.IDEMPOTENCY_KEY_HEADER;
 import static com.eauction.buyer.util.BuyerHelper.buildBid;
 import static com.eauction.buyer.util.BuyerHelper.buildBuyer;
+import static com.eauction.buyer.util.BuyerHelper.toBidAmount;
 
 /**
  * Buyer Controller to perform buyer actions
@@ -37,13 +67,31 @@ import static com.eauction.buyer.util.BuyerHelper.buildBuyer;
  */
 @Api(tags = "E-Auction Buyer REST Controller")
 @RestApiController("e-auction/api/v1/buyer")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class BuyerController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String STREAM_TIMEOUT_INTERCEPTOR = BuyerController.class.getName() + ".streamTimeout";
+
     @Autowired
     private BidService bidService;
     @Autowired
     private BuyerService buyerService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private BidStreamService bidStreamService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BidVersionTracker bidVersionTracker;
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    @Autowired
+    private BidStreamConfig bidStreamConfig;
 
     
     /**
@@ -67,14 +115,77 @@ public class BuyerController {
     }
     
     /**
-     * Returns all Bids for the given Product Id
+     * Streams all Bids, optionally filtered by inclusive Product Id and Buyer Id ranges, as newline delimited JSON
+     * straight from a Mongo cursor so that the memory use doesn't grow with the size of the collection
+     *
+     * @param productIdFrom refers to the lower bound of attribute {@code productId}
+     * @param productIdTo refers to the upper bound of attribute {@code productId}
+     * @param buyerIdFrom refers to the lower bound of attribute {@code buyerId}
+     * @param buyerIdTo refers to the upper bound of attribute {@code buyerId}
+     * @param webRequest refers to the current request of type {@link WebRequest}
+     * @return a {@link StreamingResponseBody} writing one {@link Bid} per line
+     */
+    @ApiOperation(value = "Stream all Bids as NDJSON", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping(value = "show-bids/stream", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamBids(
+            @RequestParam(value = "productIdFrom", required = false) Integer productIdFrom,
+            @RequestParam(value = "productIdTo", required = false) Integer productIdTo,
+            @RequestParam(value = "buyerIdFrom", required = false) Integer buyerIdFrom,
+            @RequestParam(value = "buyerIdTo", required = false) Integer buyerIdTo,
+            WebRequest webRequest) {
+        // Only this request may outlive the default async timeout, as a full export takes as long as the collection
+        long exportTimeoutMillis = bidStreamConfig.getExportTimeout().toMillis();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(STREAM_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest) {
+                            ((AsyncWebRequest) request).setTimeout(exportTimeoutMillis);
+                        }
+                    }
+                });
+        BidFilter bidFilter = BidFilter.builder()
+                .productIdFrom(productIdFrom)
+                .productIdTo(productIdTo)
+                .buyerIdFrom(buyerIdFrom)
+                .buyerIdTo(buyerIdTo)
+                .build();
+        ObjectWriter bidWriter = objectMapper.writerFor(Bid.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody responseBody = outputStream -> {
+            try (JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(outputStream)) {
+                jsonGenerator.setRootValueSeparator(null);
+                bidService.streamBids(bidFilter, bid -> {
+                    try {
+                        bidWriter.writeValue(jsonGenerator, bid);
+                        jsonGenerator.writeRaw('\n');
+                    } catch (IOException exc) {
+                        throw new UncheckedIOException(exc);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok(responseBody);
+    }
+
+    /**
+     * Returns all Bids for the given Product Id. The response carries a strong ETag, a request whose
+     * {@code If-None-Match} matches it is answered with 304 Not Modified without reading the bids.
      *
      * @param productId refers to attribute {@code productId}
-     * @return a {@link List} of type {@link Bid}
+     * @param webRequest refers to the current request of type {@link WebRequest}
+     * @return a {@link List} of type {@link Bid}, or {@code null} once the response is set to 304 Not Modified
      */
     @ApiOperation(value = "[For US_04] Show all Bids for a given Product", response = Bid.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 400, message = "Bad Request"),
             @ApiResponse(code = 403, message = "Forbidden"),
             @ApiResponse(code = 404, message = "Bid not found"),
@@ -82,29 +193,108 @@ public class BuyerController {
     })
     @GetMapping("show-bids/{productId}")
     @ResponseBody
-    public ResponseEntity<List<BidResponse>> showBidsForProduct(@PathVariable("productId") Integer productId) {
-        List<BidResponse> bidResponses = new ArrayList<>(0);
-        List<Bid> bids = bidService.getAllBids(productId, true);
-        if (CollectionUtils.isNotEmpty(bids)) {
-            List<Integer> buyerIds = bids.stream().map(Bid::getBuyerId).collect(Collectors.toList());
-            Map<Integer, Buyer> buyerMap = buyerService.getBuyers(buyerIds);
-            bids.stream().forEach(bid -> {
-                BidResponse bidBuyerResponse = BidResponse.builder()
-                        .id(bid.getId())
-                        .productId(bid.getProductId())
-                        .bidAmount(bid.getBidAmount())
-                        .buyer(buyerMap.get(bid.getBuyerId()))
-                        .build();
-                bidResponses.add(bidBuyerResponse);
-            });
+    public ResponseEntity<List<BidResponse>> showBidsForProduct(@PathVariable("productId") Integer productId,
+                                                                WebRequest webRequest) {
+        boolean notModified = webRequest.checkNotModified(bidVersionTracker.getETag(productId));
+        bidVersionTracker.recordRequest(notModified);
+        if (notModified) {
+            return null;
         }
+        List<BidResponse> bidResponses = bidService.getBidResponses(productId);
         return ResponseEntity.ok(bidResponses);
     }
     
     /**
-     * Returns the newly added Bid and Buyer
+     * Returns the highest Bid for the given Product Id
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return the highest bid of type {@link Bid}
+     */
+    @ApiOperation(value = "Show the highest Bid for a given Product", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}/highest")
+    @ResponseBody
+    public ResponseEntity<Bid> showHighestBid(@PathVariable("productId") Integer productId) {
+        Bid highestBid = bidService.getHighestBid(productId);
+        return ResponseEntity.ok(highestBid);
+    }
+
+    /**
+     * Returns the highest Bids for the given Product Id from the in-memory leaderboard
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param limit refers to the maximum number of bids to return
+     * @return a {@link List} of type {@link Bid}, highest first
+     */
+    @ApiOperation(value = "Show the top Bids for a given Product", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}/top")
+    @ResponseBody
+    public ResponseEntity<List<Bid>> showTopBids(@PathVariable("productId") Integer productId,
+                                                 @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        List<Bid> topBids = leaderboardService.getTopBids(productId, limit);
+        return ResponseEntity.ok(topBids);
+    }
+
+    /**
+     * Returns the rank of the given Buyer's Bid for the given Product Id from the in-memory leaderboard
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param buyerId refers to attribute {@code id} of type {@link Buyer}
+     * @return the rank of type {@link BidRank}
+     */
+    @ApiOperation(value = "Show the rank of a Buyer's Bid for a given Product", response = BidRank.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = BidRank.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}/rank/{buyerId}")
+    @ResponseBody
+    public ResponseEntity<BidRank> showBidRank(@PathVariable("productId") Integer productId,
+                                               @PathVariable("buyerId") Integer buyerId) {
+        BidRank bidRank = leaderboardService.getRank(productId, buyerId);
+        return ResponseEntity.ok(bidRank);
+    }
+
+    /**
+     * Pushes the Bids of the given Product as Server-Sent Events while they are placed ({@code placed}) or updated
+     * ({@code updated}), so that viewers don't have to poll
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return the {@link SseEmitter} of the subscription
+     */
+    @ApiOperation(value = "Stream the Bids of a given Product as Server-Sent Events", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping(value = "bid-stream/{productId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBidsForProduct(@PathVariable("productId") Integer productId) {
+        return bidStreamService.subscribe(productId);
+    }
+
+    /**
+     * Returns the newly added Bid and Buyer. A retry carrying the same {@code Idempotency-Key} gets the outcome of the
+     * first request instead of placing the bid again.
      *
      * @param bidBuyerRequest of type {@link BidBuyerRequest}
+     * @param idempotencyKey refers to the optional {@code Idempotency-Key} header
      * @return the newly added bid and buyer of type {@link BidBuyerResponse}
      */
     @ApiOperation(value = "[US_03] Adds a new Buyer and Bid", response = BidBuyerResponse.class)
@@ -117,22 +307,90 @@ public class BuyerController {
     })
     @PostMapping("place-bid")
     @ResponseBody
-    public ResponseEntity<BidBuyerResponse> placeBid(@Validated @RequestBody final BidBuyerRequest bidBuyerRequest) {
-        Buyer buyer = buyerService.addBuyer(buildBuyer(bidBuyerRequest));
-        Bid bid = bidService.addBid(buildBid(bidBuyerRequest, buyer.getId()));
-        BidBuyerResponse bidBuyerResponse = BidBuyerResponse.builder()
-                .status(HttpStatus.OK)
-                .bid(bid)
-                .buyer(buyer)
-                .build();
-        return ResponseEntity.ok(bidBuyerResponse);
+    public ResponseEntity<BidBuyerResponse> placeBid(@Validated @RequestBody final BidBuyerRequest bidBuyerRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("place-bid", idempotencyKey, bidBuyerRequest, () -> placeBid(bidBuyerRequest));
+    }
+
+    private ResponseEntity<BidBuyerResponse> placeBid(BidBuyerRequest bidBuyerRequest) {
+        // The product is fetched while the buyer is looked up and saved, and never outlives the request
+        Future<Product> product = productService.getProductAsync(Objects.nonNull(bidBuyerRequest.getBidRequest())
+                ? bidBuyerRequest.getBidRequest().getProductId() : null);
+        try {
+            Buyer buyer = buyerService.addBuyer(buildBuyer(bidBuyerRequest));
+            Bid bid = bidService.addBid(buildBid(bidBuyerRequest, buyer.getId()), product);
+            BidBuyerResponse bidBuyerResponse = BidBuyerResponse.builder()
+                    .status(HttpStatus.OK)
+                    .bid(bid)
+                    .buyer(buyer)
+                    .build();
+            return ResponseEntity.ok(bidBuyerResponse);
+        } finally {
+            // Drops a lookup not started yet, one in flight completes and caches the product for the next request
+            product.cancel(false);
+        }
     }
 
     /**
-     * Updates the Bid Amount for the given product
+     * Adds the given Buyers and Bids in bulk. Each distinct product is fetched once and the buyers and bids are
+     * written with one bulk write each.
+     *
+     * @param bidBuyerRequests refers to a {@link List} of type {@link BidBuyerRequest}
+     * @return the outcome of each request of type {@link BidBuyerResponse}, in the order of the requests
+     */
+    @ApiOperation(value = "Adds new Buyers and Bids in bulk", response = BidBuyerResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = BidBuyerResponse.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @PostMapping("place-bids")
+    @ResponseBody
+    public ResponseEntity<List<BidBuyerResponse>> placeBids(@Validated @RequestBody final List<BidBuyerRequest> bidBuyerRequests) {
+        List<BulkItemResult<Buyer>> buyerResults = buyerService.addBuyers(bidBuyerRequests.stream()
+                .map(BuyerHelper::buildBuyer)
+                .collect(Collectors.toList()));
+        List<BidBuyerResponse> bidBuyerResponses = new ArrayList<>(bidBuyerRequests.size());
+        List<Bid> bids = new ArrayList<>(bidBuyerRequests.size());
+        List<Integer> bidIndexes = new ArrayList<>(bidBuyerRequests.size());
+        for (int index = 0; index < bidBuyerRequests.size(); index++) {
+            BulkItemResult<Buyer> buyerResult = buyerResults.get(index);
+            BidBuyerResponse bidBuyerResponse = BidBuyerResponse.builder()
+                    .status(buyerResult.getStatus())
+                    .buyer(buyerResult.getValue())
+                    .errorMessage(buyerResult.getErrorMessage())
+                    .build();
+            bidBuyerResponses.add(bidBuyerResponse);
+            if (buyerResult.isSuccess()) {
+                try {
+                    bids.add(buildBid(bidBuyerRequests.get(index), buyerResult.getValue().getId()));
+                    bidIndexes.add(index);
+                } catch (TechnicalException exc) {
+                    bidBuyerResponse.setStatus(exc.getStatus());
+                    bidBuyerResponse.setErrorMessage(exc.getMessage());
+                }
+            }
+        }
+        List<BulkItemResult<Bid>> bidResults = bidService.addBids(bids);
+        for (int index = 0; index < bidResults.size(); index++) {
+            BulkItemResult<Bid> bidResult = bidResults.get(index);
+            BidBuyerResponse bidBuyerResponse = bidBuyerResponses.get(bidIndexes.get(index));
+            bidBuyerResponse.setStatus(bidResult.getStatus());
+            bidBuyerResponse.setBid(bidResult.getValue());
+            bidBuyerResponse.setErrorMessage(bidResult.getErrorMessage());
+        }
+        return ResponseEntity.ok(bidBuyerResponses);
+    }
+
+    /**
+     * Updates the Bid Amount for the given product. A retry carrying the same {@code Idempotency-Key} gets the outcome
+     * of the first request instead of updating the bid again.
      *
      * @param buyerEmail refers to attribute {@code email} of type {@link Buyer}
-     * @param bidRequest of type {@link BidRequest}
+     * @param productId refers to attribute {@code productId}
+     * @param newBidAmount refers to the new {@code bidAmount}
+     * @param idempotencyKey refers to the optional {@code Idempotency-Key} header
      * @return the updated bid of type {@link Bid}
      */
     @ApiOperation(value = "[US_05] Updates the Bid Amount for the given Product", response = HttpStatus.class)
@@ -147,12 +405,26 @@ public class BuyerController {
     @ResponseBody
     public ResponseEntity<Bid> updateBid(@PathVariable("buyerEmailId") String buyerEmail,
     		@PathVariable("productId") Integer productId,
-    		@PathVariable("newBidAmount") String newBidAmount) {
-        Buyer buyer = buyerService.getBuyer(buyerEmail);
-        BidRequest bidRequest = new BidRequest();
-        bidRequest.setBidAmount(newBidAmount);
-        bidRequest.setProductId(productId);
-		Bid updatedBid = bidService.updateBid(buyer.getId(), bidRequest .getProductId(), bidRequest.getBidAmount());
-        return ResponseEntity.ok(updatedBid);
+    		@PathVariable("newBidAmount") String newBidAmount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("update-bid", idempotencyKey, List.of(productId, buyerEmail, newBidAmount),
+                () -> updateBid(buyerEmail, productId, newBidAmount));
+    }
+
+    private ResponseEntity<Bid> updateBid(String buyerEmail, Integer productId, String newBidAmount) {
+        // The product is fetched while the buyer is looked up, and never outlives the request
+        Future<Product> product = productService.getProductAsync(productId);
+        try {
+            Buyer buyer = buyerService.getBuyer(buyerEmail);
+            BidRequest bidRequest = new BidRequest();
+            bidRequest.setBidAmount(newBidAmount);
+            bidRequest.setProductId(productId);
+            Bid updatedBid = bidService.updateBid(buyer.getId(), bidRequest.getProductId(),
+                    toBidAmount(bidRequest.getBidAmount()), product);
+            return ResponseEntity.ok(updatedBid);
+        } finally {
+            // Drops a lookup not started yet, one in flight completes and caches the product for the next request
+            product.cancel(false);
+        }
     }
 }
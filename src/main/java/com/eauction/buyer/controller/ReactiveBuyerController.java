@@ -0,0 +1,234 @@
+package com.eauction.buyer.controller;
+
+import com.eauction.buyer.common.RestApiController;
+import com.eauction.buyer.dto.BidBuyerRequest;
+import com.eauction.buyer.dto.BidBuyerResponse;
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidRank;
+import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import com.eauction.buyer.service.LeaderboardService;
+import com.eauction.buyer.service.ReactiveBidService;
+import com.eauction.buyer.service.ReactiveBuyerService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static com.eauction.buyer.util.BuyerHelper.buildBid;
+import static com.eauction.buyer.util.BuyerHelper.buildBuyer;
+import static com.eauction.buyer.util.BuyerHelper.toBidAmount;
+
+/**
+ * Reactive Buyer Controller serving the buyer actions of {@link BuyerController} on the non-blocking stack. Active
+ * with the {@code reactive} profile only.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Api(tags = "E-Auction Buyer Reactive REST Controller")
+@RestApiController("e-auction/api/v1/buyer")
+@Profile("reactive")
+public class ReactiveBuyerController {
+
+    @Autowired
+    private ReactiveBidService reactiveBidService;
+    @Autowired
+    private ReactiveBuyerService reactiveBuyerService;
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    /**
+     * Returns all Bids
+     *
+     * @return a {@link Flux} of type {@link Bid}
+     */
+    @ApiOperation(value = "Show all Bids", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids")
+    public Flux<Bid> showBids() {
+        return reactiveBidService.getAllBids();
+    }
+
+    /**
+     * Streams all Bids, optionally filtered by inclusive Product Id and Buyer Id ranges, as newline delimited JSON.
+     * Documents are only read from Mongo as fast as the client consumes them.
+     *
+     * @param productIdFrom refers to the lower bound of attribute {@code productId}
+     * @param productIdTo refers to the upper bound of attribute {@code productId}
+     * @param buyerIdFrom refers to the lower bound of attribute {@code buyerId}
+     * @param buyerIdTo refers to the upper bound of attribute {@code buyerId}
+     * @return a {@link Flux} of type {@link Bid}, written one per line
+     */
+    @ApiOperation(value = "Stream all Bids as NDJSON", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping(value = "show-bids/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Bid> streamBids(
+            @RequestParam(value = "productIdFrom", required = false) Integer productIdFrom,
+            @RequestParam(value = "productIdTo", required = false) Integer productIdTo,
+            @RequestParam(value = "buyerIdFrom", required = false) Integer buyerIdFrom,
+            @RequestParam(value = "buyerIdTo", required = false) Integer buyerIdTo) {
+        BidFilter bidFilter = BidFilter.builder()
+                .productIdFrom(productIdFrom)
+                .productIdTo(productIdTo)
+                .buyerIdFrom(buyerIdFrom)
+                .buyerIdTo(buyerIdTo)
+                .build();
+        return reactiveBidService.streamBids(bidFilter);
+    }
+
+    /**
+     * Returns all Bids for the given Product Id
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return a {@link Flux} of type {@link BidResponse}
+     */
+    @ApiOperation(value = "[For US_04] Show all Bids for a given Product", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}")
+    public Flux<BidResponse> showBidsForProduct(@PathVariable("productId") Integer productId) {
+        return reactiveBidService.getBidResponses(productId);
+    }
+
+    /**
+     * Returns the highest Bid for the given Product Id
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return a {@link Mono} of the highest bid of type {@link Bid}
+     */
+    @ApiOperation(value = "Show the highest Bid for a given Product", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}/highest")
+    public Mono<Bid> showHighestBid(@PathVariable("productId") Integer productId) {
+        return reactiveBidService.getHighestBid(productId);
+    }
+
+    /**
+     * Returns the highest Bids for the given Product Id from the in-memory leaderboard
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param limit refers to the maximum number of bids to return
+     * @return a {@link List} of type {@link Bid}, highest first
+     */
+    @ApiOperation(value = "Show the top Bids for a given Product", response = Bid.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}/top")
+    public Mono<List<Bid>> showTopBids(@PathVariable("productId") Integer productId,
+                                       @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        // The first read of a product loads its leaderboard from Mongo
+        return Mono.fromCallable(() -> leaderboardService.getTopBids(productId, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Returns the rank of the given Buyer's Bid for the given Product Id from the in-memory leaderboard
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param buyerId refers to attribute {@code id} of type {@link Buyer}
+     * @return the rank of type {@link BidRank}
+     */
+    @ApiOperation(value = "Show the rank of a Buyer's Bid for a given Product", response = BidRank.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = BidRank.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @GetMapping("show-bids/{productId}/rank/{buyerId}")
+    public Mono<BidRank> showBidRank(@PathVariable("productId") Integer productId,
+                                     @PathVariable("buyerId") Integer buyerId) {
+        return Mono.fromCallable(() -> leaderboardService.getRank(productId, buyerId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Returns the newly added Bid and Buyer
+     *
+     * @param bidBuyerRequest of type {@link BidBuyerRequest}
+     * @return a {@link Mono} of the newly added bid and buyer of type {@link BidBuyerResponse}
+     */
+    @ApiOperation(value = "[US_03] Adds a new Buyer and Bid", response = BidBuyerResponse.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = BidBuyerResponse.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @PostMapping("place-bid")
+    public Mono<BidBuyerResponse> placeBid(@Validated @RequestBody final BidBuyerRequest bidBuyerRequest) {
+        return reactiveBuyerService.addBuyer(buildBuyer(bidBuyerRequest))
+                .flatMap(buyer -> reactiveBidService.addBid(buildBid(bidBuyerRequest, buyer.getId()))
+                        .map(bid -> BidBuyerResponse.builder()
+                                .status(HttpStatus.OK)
+                                .bid(bid)
+                                .buyer(buyer)
+                                .build()));
+    }
+
+    /**
+     * Updates the Bid Amount for the given product
+     *
+     * @param buyerEmail refers to attribute {@code email} of type {@link Buyer}
+     * @param productId refers to attribute {@code productId}
+     * @param newBidAmount refers to the new attribute {@code bidAmount}
+     * @return a {@link Mono} of the updated bid of type {@link Bid}
+     */
+    @ApiOperation(value = "[US_05] Updates the Bid Amount for the given Product", response = HttpStatus.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = Bid.class),
+            @ApiResponse(code = 400, message = "Bad Request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Bid not found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+    })
+    @PutMapping("/update-bid/{productId}/{buyerEmailId}/{newBidAmount}")
+    public Mono<Bid> updateBid(@PathVariable("buyerEmailId") String buyerEmail,
+                               @PathVariable("productId") Integer productId,
+                               @PathVariable("newBidAmount") String newBidAmount) {
+        return Mono.fromCallable(() -> toBidAmount(newBidAmount))
+                .flatMap(bidAmount -> reactiveBuyerService.getBuyer(buyerEmail)
+                        .flatMap(buyer -> reactiveBidService.updateBid(buyer.getId(), productId, bidAmount)));
+    }
+}
@@ -27,4 +27,5 @@ public class BidBuyerResponse implements Serializable {
     private HttpStatus status;
     private Bid bid;
     private Buyer buyer;
+    private String errorMessage;
 }
@@ -0,0 +1,28 @@
+package com.eauction.buyer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Bid Filter Class is to handle the optional, inclusive id ranges to filter Bids by
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BidFilter implements Serializable {
+
+    private static final long serialVersionUID = 955728933773178012L;
+
+    private Integer productIdFrom;
+    private Integer productIdTo;
+    private Integer buyerIdFrom;
+    private Integer buyerIdTo;
+}
@@ -0,0 +1,29 @@
+package com.eauction.buyer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Bid Rank Class is to handle data transfer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BidRank implements Serializable {
+
+    private static final long serialVersionUID = 955728933773178124L;
+
+    private Integer productId;
+    private Integer buyerId;
+    private Long bidAmount;
+    private Integer rank;
+    private Integer totalBids;
+}
@@ -24,6 +24,6 @@ public class BidResponse implements Serializable {
 
     private Integer id;
     private Integer productId;
-    private String bidAmount;
+    private Long bidAmount;
     private Buyer buyer;
 }
@@ -0,0 +1,41 @@
+package com.eauction.buyer.dto;
+
+import com.eauction.buyer.exception.TechnicalException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Bulk Item Result Class holds the outcome of a single item of a bulk operation
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult<T> implements Serializable {
+
+    private static final long serialVersionUID = 955728933773178236L;
+
+    private T value;
+    private HttpStatus status;
+    private String errorMessage;
+
+    public static <T> BulkItemResult<T> success(T value) {
+        return new BulkItemResult<>(value, HttpStatus.OK, null);
+    }
+
+    public static <T> BulkItemResult<T> failure(TechnicalException techExc) {
+        HttpStatus httpStatus = Objects.nonNull(techExc.getStatus()) ? techExc.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR;
+        return new BulkItemResult<>(null, httpStatus, techExc.getMessage());
+    }
+
+    public boolean isSuccess() {
+        return HttpStatus.OK == status;
+    }
+}
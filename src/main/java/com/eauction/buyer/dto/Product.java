@@ -1,16 +1,21 @@
 package com.eauction.buyer.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.io.Serializable;
+import java.util.Objects;
+
+import static com.eauction.buyer.util.BuyerHelper.toEpochDay;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Product implements Serializable {
 
     private static final long serialVersionUID = 955728933773177564L;
@@ -20,8 +25,48 @@ public class Product implements Serializable {
     private String shortDescription;
     private String detailedDescription;
     private String category;
-    private String startingPrice;
+    private Long startingPrice;
     private String bidEndDate;
     private Integer sellerId;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Long bidEndEpochDay;
+
+    /**
+     * Creates the Product from its persistent fields, the {@code bidEndEpochDay} is derived from the
+     * {@code bidEndDate} on first use
+     */
+    @Builder
+    public Product(Integer id, String productName, String shortDescription, String detailedDescription,
+            String category, Long startingPrice, String bidEndDate, Integer sellerId) {
+        this.id = id;
+        this.productName = productName;
+        this.shortDescription = shortDescription;
+        this.detailedDescription = detailedDescription;
+        this.category = category;
+        this.startingPrice = startingPrice;
+        this.bidEndDate = bidEndDate;
+        this.sellerId = sellerId;
+    }
+
+    public void setBidEndDate(String bidEndDate) {
+        this.bidEndDate = bidEndDate;
+        this.bidEndEpochDay = null;
+    }
+
+    /**
+     * Returns the {@code bidEndDate} as epoch day, parsed once per product
+     *
+     * @return the epoch day or {@code null} if the {@code bidEndDate} is not a valid date
+     */
+    @JsonIgnore
+    public Long getBidEndEpochDay() {
+        if (Objects.isNull(bidEndEpochDay)) {
+            bidEndEpochDay = toEpochDay(bidEndDate);
+        }
+        return bidEndEpochDay;
+    }
 }
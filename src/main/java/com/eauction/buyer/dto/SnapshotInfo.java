@@ -0,0 +1,42 @@
+package com.eauction.buyer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Snapshot Info Class is to handle data transfer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotInfo implements Serializable {
+
+    private static final long serialVersionUID = 955728933773178391L;
+
+    private String name;
+    private List<CollectionSnapshot> collections;
+    private Long timeTakenMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CollectionSnapshot implements Serializable {
+
+        private static final long serialVersionUID = 955728933773178392L;
+
+        private String collection;
+        private Long documents;
+        private Long skippedDocuments;
+        private Long bytes;
+    }
+}
@@ -0,0 +1,24 @@
+package com.eauction.buyer.event;
+
+import com.eauction.buyer.model.Bid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Bid Event published once a Bid is placed or updated
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@AllArgsConstructor
+public class BidEvent {
+
+    public enum Type {
+        PLACED,
+        UPDATED
+    }
+
+    private Type type;
+    private Bid bid;
+}
@@ -0,0 +1,18 @@
+package com.eauction.buyer.event;
+
+import com.eauction.buyer.model.Buyer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Buyer Event published once the details of an existing Buyer are changed
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Data
+@AllArgsConstructor
+public class BuyerEvent {
+
+    private Buyer buyer;
+}
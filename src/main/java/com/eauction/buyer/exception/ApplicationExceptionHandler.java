@@ -1,7 +1,10 @@
 package com.eauction.buyer.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -20,10 +23,16 @@ import java.util.Date;
  */
 @ControllerAdvice
 @RestController
+@Profile("!reactive")
 public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Logger eLog = LoggerFactory.getLogger(ApplicationExceptionHandler.class);
 
+    private static final String COUNTER_NAME = "buyer.exceptions";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Exception Handler for Technical Exceptions through {@link TechnicalException} class
      *
@@ -35,6 +44,10 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
     public ResponseEntity<Object> handleTechnicalExceptions(TechnicalException techExc, WebRequest webRequest) {
         eLog.error(techExc.getMessage());
         HttpStatus httpStatus = techExc.getStatus() != null ? techExc.getStatus() : HttpStatus.NOT_FOUND;
+        meterRegistry.counter(COUNTER_NAME,
+                "exception", techExc.getClass().getSimpleName(),
+                "cause", techExc.getCause() != null ? techExc.getCause().getClass().getSimpleName() : "none",
+                "status", String.valueOf(httpStatus.value())).increment();
         ErrorResponse errorResponse = new ErrorResponse(httpStatus.value(), httpStatus.getReasonPhrase(),
                 techExc.getMessage(), webRequest.getDescription(false), new Date());
         return new ResponseEntity<>(errorResponse, httpStatus);
@@ -15,6 +15,6 @@ public class InvalidDataException extends TechnicalException {
     private static final long serialVersionUID = -7206259820819733598L;
 
     public InvalidDataException(String message) {
-        super(message, HttpStatus.BAD_REQUEST);
+        super(message, HttpStatus.BAD_REQUEST, false);
     }
 }
@@ -15,6 +15,6 @@ public class InvalidOperationException extends TechnicalException {
     private static final long serialVersionUID = -7206259820819733598L;
 
     public InvalidOperationException(String message) {
-        super(message, HttpStatus.PRECONDITION_FAILED);
+        super(message, HttpStatus.PRECONDITION_FAILED, false);
     }
 }
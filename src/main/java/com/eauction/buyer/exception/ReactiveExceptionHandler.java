@@ -0,0 +1,53 @@
+package com.eauction.buyer.exception;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Date;
+
+/**
+ * Exception Handler of the reactive stack, answering with the same {@link ErrorResponse} as the
+ * {@link ApplicationExceptionHandler}
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    private static final Logger eLog = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private static final String COUNTER_NAME = "buyer.exceptions";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Exception Handler for Technical Exceptions through {@link TechnicalException} class
+     *
+     * @param techExc refers to the type {@link TechnicalException}
+     * @param exchange refers to the type {@link ServerWebExchange}
+     * @return an instance of {@link ResponseEntity}
+     */
+    @ExceptionHandler(TechnicalException.class)
+    public ResponseEntity<Object> handleTechnicalExceptions(TechnicalException techExc, ServerWebExchange exchange) {
+        eLog.error(techExc.getMessage());
+        HttpStatus httpStatus = techExc.getStatus() != null ? techExc.getStatus() : HttpStatus.NOT_FOUND;
+        meterRegistry.counter(COUNTER_NAME,
+                "exception", techExc.getClass().getSimpleName(),
+                "cause", techExc.getCause() != null ? techExc.getCause().getClass().getSimpleName() : "none",
+                "status", String.valueOf(httpStatus.value())).increment();
+        ErrorResponse errorResponse = new ErrorResponse(httpStatus.value(), httpStatus.getReasonPhrase(),
+                techExc.getMessage(), "uri=" + exchange.getRequest().getPath().value(), new Date());
+        return new ResponseEntity<>(errorResponse, httpStatus);
+    }
+}
@@ -15,6 +15,6 @@ public class ResourceExistException extends TechnicalException {
     private static final long serialVersionUID = -7206259820819733712L;
 
     public ResourceExistException(String message) {
-        super(message, HttpStatus.CONFLICT);
+        super(message, HttpStatus.CONFLICT, false);
     }
 }
@@ -15,6 +15,6 @@ public class ResourceNotExistException extends TechnicalException {
     private static final long serialVersionUID = -7206259820819733712L;
 
     public ResourceNotExistException(String message) {
-        super(message, HttpStatus.NOT_FOUND);
+        super(message, HttpStatus.NOT_FOUND, false);
     }
 }
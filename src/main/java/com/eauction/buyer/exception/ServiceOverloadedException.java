@@ -0,0 +1,20 @@
+package com.eauction.buyer.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Service Overloaded Exception class to manage the requests rejected as the service cannot take more load
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ServiceOverloadedException extends TechnicalException {
+
+    private static final long serialVersionUID = 3416785290138412577L;
+
+    public ServiceOverloadedException(String message) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, false);
+    }
+}
@@ -29,4 +29,16 @@ public class TechnicalException extends RuntimeException {
         super(message, cause);
         this.status = httpStatus;
     }
+
+    /**
+     * Creates an exception for an expected failure, such as a rejected request, which skips filling in the stack trace
+     *
+     * @param message refers to the detail message
+     * @param httpStatus refers to the response status of type {@link HttpStatus}
+     * @param writableStackTrace refers to whether the stack trace should be filled in
+     */
+    protected TechnicalException(String message, HttpStatus httpStatus, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.status = httpStatus;
+    }
 }
@@ -0,0 +1,340 @@
+package com.eauction.buyer.ingest;
+
+import com.eauction.buyer.model.Bid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the Bids accepted in write-behind mode. Records are appended to numbered segment files and
+ * forced to disk once per appended group. The Bids are written to Mongo in the order they were appended, so each
+ * segment keeps a checkpoint of how many of its Bids are written. A segment is deleted as soon as it is sealed and every
+ * Bid it holds has been written, the segments left behind by a crash are replayed on the next startup from their
+ * checkpoint on.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class BidJournal implements Closeable {
+
+    private static final Logger eLog = LoggerFactory.getLogger(BidJournal.class);
+
+    private static final String SEGMENT_PREFIX = "bids-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_SUFFIX = ".flushed";
+    // id, productId, bidAmount, buyerId preceded by the CRC32 of these fields
+    private static final int PAYLOAD_SIZE = Integer.BYTES * 3 + Long.BYTES;
+    private static final int RECORD_SIZE = Integer.BYTES + PAYLOAD_SIZE;
+    private static final int READ_BUFFER_RECORDS = 4096;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final List<Path> recoveredSegments;
+    private long nextSegmentId;
+    private Segment currentSegment;
+
+    public BidJournal(Path directory, long segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            this.recoveredSegments = files.filter(BidJournal::isSegment)
+                    .sorted(Comparator.comparingLong(BidJournal::segmentId))
+                    .collect(Collectors.toList());
+        }
+        this.nextSegmentId = recoveredSegments.isEmpty() ? 1L
+                : segmentId(recoveredSegments.get(recoveredSegments.size() - 1)) + 1;
+        // A crash between deleting a segment and its checkpoint leaves the checkpoint behind
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path checkpoint : files.filter(BidJournal::isCheckpoint).collect(Collectors.toList())) {
+                String fileName = checkpoint.getFileName().toString();
+                if (!Files.exists(checkpoint.resolveSibling(fileName.substring(0,
+                        fileName.length() - CHECKPOINT_SUFFIX.length())))) {
+                    Files.delete(checkpoint);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the segments found on startup, oldest first, which have to be replayed before new Bids are appended
+     */
+    public List<Path> getRecoveredSegments() {
+        return recoveredSegments;
+    }
+
+    /**
+     * Appends the given Bids and forces them to disk with a single sync
+     *
+     * @param bids refers to the list of type {@link Bid}, all attributes must be set
+     * @return the {@link Segment} holding the Bids, which has to be released once they are written to Mongo
+     * @throws IOException if the Bids cannot be made durable
+     */
+    public synchronized Segment append(List<Bid> bids) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * bids.size());
+        CRC32 crc = new CRC32();
+        for (Bid bid : bids) {
+            int start = buffer.position();
+            buffer.putInt(0)
+                    .putInt(bid.getId())
+                    .putInt(bid.getProductId())
+                    .putLong(bid.getBidAmount())
+                    .putInt(bid.getBuyerId());
+            crc.reset();
+            crc.update(buffer.array(), start + Integer.BYTES, PAYLOAD_SIZE);
+            buffer.putInt(start, (int) crc.getValue());
+        }
+        buffer.flip();
+        if (Objects.isNull(currentSegment)) {
+            currentSegment = openSegment();
+        }
+        Segment segment = currentSegment;
+        long startPosition = segment.channel.position();
+        segment.acquire(bids.size());
+        try {
+            while (buffer.hasRemaining()) {
+                segment.channel.write(buffer);
+            }
+            segment.channel.force(false);
+        } catch (IOException exc) {
+            segment.discard(bids.size());
+            discard(segment, startPosition);
+            throw exc;
+        }
+        if (segment.channel.position() >= segmentSize) {
+            currentSegment = null;
+            segment.seal();
+        }
+        return segment;
+    }
+
+    /**
+     * Returns how many Bids of a segment were written to Mongo before the previous run stopped
+     *
+     * @param segment refers to the path of the segment file
+     * @return the number of Bids at the start of the segment that are written, {@code 0} if there is no checkpoint
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public static long readCheckpoint(Path segment) throws IOException {
+        Path checkpoint = checkpointPath(segment);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        return bytes.length >= Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+
+    /**
+     * Deletes a segment together with its checkpoint
+     *
+     * @param segment refers to the path of the segment file
+     * @throws IOException if the files cannot be deleted
+     */
+    public static void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+        Files.deleteIfExists(checkpointPath(segment));
+    }
+
+    /**
+     * Reads the Bids of a segment up to its last complete record. A record torn by a crash ends the segment.
+     *
+     * @param segment refers to the path of the segment file
+     * @param skip refers to the number of Bids at the start of the segment to skip, as they are already written
+     * @param bidConsumer refers to the {@link Consumer} of each Bid read
+     * @return the number of Bids read
+     * @throws IOException if the segment cannot be read
+     */
+    public static long read(Path segment, long skip, Consumer<Bid> bidConsumer) throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.position(Math.min(skip * RECORD_SIZE, channel.size()));
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * READ_BUFFER_RECORDS);
+            CRC32 crc = new CRC32();
+            while (true) {
+                int read = channel.read(buffer);
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int checksum = buffer.getInt();
+                    crc.reset();
+                    crc.update(buffer.array(), buffer.position(), PAYLOAD_SIZE);
+                    if ((int) crc.getValue() != checksum) {
+                        eLog.warn("Journal segment ends with a corrupt record [segment: {}, bids: {}]", segment, count);
+                        return count;
+                    }
+                    bidConsumer.accept(Bid.builder()
+                            .id(buffer.getInt())
+                            .productId(buffer.getInt())
+                            .bidAmount(buffer.getLong())
+                            .buyerId(buffer.getInt())
+                            .build());
+                    count++;
+                }
+                buffer.compact();
+                if (read < 0) {
+                    if (buffer.position() > 0) {
+                        eLog.warn("Journal segment ends with a partial record [segment: {}, bids: {}]", segment, count);
+                    }
+                    return count;
+                }
+            }
+        }
+    }
+
+    /**
+     * Seals the current segment. It stays on disk if it still holds Bids not written to Mongo.
+     */
+    @Override
+    public synchronized void close() {
+        if (Objects.nonNull(currentSegment)) {
+            currentSegment.seal();
+            currentSegment = null;
+        }
+    }
+
+    /**
+     * Cuts off whatever part of a failed group reached the segment, so that the Bids that were not acknowledged are not
+     * replayed. A segment that cannot be cut back is sealed, so that nothing follows a torn record.
+     */
+    private void discard(Segment segment, long startPosition) {
+        try {
+            segment.channel.truncate(startPosition);
+            segment.channel.position(startPosition);
+            segment.channel.force(false);
+        } catch (IOException exc) {
+            eLog.error("Journal segment cannot be truncated and is sealed [segment: {}, position: {}]: {}",
+                    segment.path, startPosition, exc.getMessage());
+            currentSegment = null;
+            segment.seal();
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+        return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    private static boolean isSegment(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static boolean isCheckpoint(Path path) {
+        return path.getFileName().toString().endsWith(SEGMENT_SUFFIX + CHECKPOINT_SUFFIX);
+    }
+
+    private static Path checkpointPath(Path segment) {
+        return segment.resolveSibling(segment.getFileName().toString() + CHECKPOINT_SUFFIX);
+    }
+
+    private static long segmentId(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A journal file, tracking how many of its Bids are not yet written to Mongo
+     */
+    public static class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(Long.BYTES);
+        private FileChannel checkpointChannel;
+        private int unflushed;
+        private long flushed;
+        private boolean sealed;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        synchronized void acquire(int count) {
+            unflushed += count;
+        }
+
+        /**
+         * Marks the given number of Bids of this segment as written to Mongo, they have to be the next ones in the order
+         * they were appended
+         *
+         * @param count refers to the number of Bids
+         */
+        public synchronized void release(int count) {
+            unflushed -= count;
+            flushed += count;
+            if (!deleteIfFlushed()) {
+                writeCheckpoint();
+            }
+        }
+
+        /**
+         * Releases a failed append, whose Bids were cut off the segment
+         */
+        synchronized void discard(int count) {
+            unflushed -= count;
+            deleteIfFlushed();
+        }
+
+        /**
+         * Records the written Bids, so that a replay does not write them again over newer amounts written since. A
+         * checkpoint that cannot be written only makes the replay start earlier.
+         */
+        private void writeCheckpoint() {
+            try {
+                if (Objects.isNull(checkpointChannel)) {
+                    checkpointChannel = FileChannel.open(checkpointPath(path), StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE);
+                }
+                checkpointBuffer.clear();
+                checkpointBuffer.putLong(flushed).flip();
+                while (checkpointBuffer.hasRemaining()) {
+                    checkpointChannel.write(checkpointBuffer, checkpointBuffer.position());
+                }
+                checkpointChannel.force(false);
+            } catch (IOException exc) {
+                eLog.warn("Journal checkpoint cannot be written [segment: {}, flushed: {}]: {}", path, flushed,
+                        exc.getMessage());
+            }
+        }
+
+        synchronized void seal() {
+            sealed = true;
+            try {
+                channel.close();
+            } catch (IOException exc) {
+                eLog.warn("Journal segment cannot be closed [segment: {}]: {}", path, exc.getMessage());
+            }
+            deleteIfFlushed();
+        }
+
+        private boolean deleteIfFlushed() {
+            if (!sealed || unflushed > 0) {
+                return false;
+            }
+            try {
+                if (Objects.nonNull(checkpointChannel)) {
+                    checkpointChannel.close();
+                    checkpointChannel = null;
+                }
+                delete(path);
+            } catch (IOException exc) {
+                eLog.warn("Journal segment cannot be deleted [segment: {}]: {}", path, exc.getMessage());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.eauction.buyer.ingest;
+
+import com.eauction.buyer.cache.BidVersionTracker;
+import com.eauction.buyer.config.WriteBehindConfig;
+import com.eauction.buyer.exception.ServiceOverloadedException;
+import com.eauction.buyer.exception.TechnicalException;
+import com.eauction.buyer.model.Bid;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.eauction.buyer.util.ExceptionHelper.toTechnicalException;
+
+/**
+ * Write-Behind Bid Writer to absorb the bursts of bids around a product's closing time. A new Bid is inserted into
+ * bid_info right away, so that its unique (productId, buyerId) index rejects a duplicate placed through any instance
+ * before the Bid is acknowledged. An update is acknowledged once it is forced to the local {@link BidJournal}, which a
+ * single thread does for every update queued meanwhile with one sync, and is written to bid_info afterwards in batched
+ * upserts by id. The number of updates not yet written to Mongo is bounded, further updates are rejected with
+ * {@link ServiceOverloadedException}. The journal left behind by a crash is replayed before the first Bid is accepted.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindBidWriter {
+
+    private static final Logger eLog = LoggerFactory.getLogger(WriteBehindBidWriter.class);
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_PRODUCT_ID = "productId";
+    private static final String FIELD_BUYER_ID = "buyerId";
+    private static final String FIELD_BID_AMOUNT = "bidAmount";
+    private static final long POLL_MILLIS = 100;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+
+    @Autowired
+    private WriteBehindConfig writeBehindConfig;
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BidVersionTracker bidVersionTracker;
+
+    // The latest update of each (productId, buyerId) that is not yet written to Mongo
+    private final ConcurrentMap<Long, PendingBid> pendingBids = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingBid> journalQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<PendingBid> flushQueue = new LinkedBlockingQueue<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private Semaphore permits;
+    private BidJournal journal;
+    private Timer syncTimer;
+    private Timer flushTimer;
+    private Thread journalThread;
+    private Thread flushThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        permits = new Semaphore(writeBehindConfig.getQueueCapacity());
+        journal = new BidJournal(Paths.get(writeBehindConfig.getJournalDirectory()), writeBehindConfig.getSegmentSize());
+        replay();
+        registerMetrics();
+        running = true;
+        journalThread = new Thread(this::runJournal, "bid-journal");
+        flushThread = new Thread(this::runFlusher, "bid-flusher");
+        journalThread.start();
+        flushThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        journalThread.join();
+        flushThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        flushThread.interrupt();
+        journal.close();
+    }
+
+    /**
+     * Places a new Bid by inserting it into Mongo, which claims its (productId, buyerId) across every instance
+     *
+     * @param bid refers to type {@link Bid}, all attributes must be set
+     * @return the placed bid of type {@link Bid}
+     * @throws DuplicateKeyException if there is a bid for the same product and buyer
+     */
+    public Bid place(Bid bid) {
+        checkRunning();
+        return mongoOperations.insert(bid);
+    }
+
+    /**
+     * Places a new Bid, see {@link #place(Bid)}
+     *
+     * @param bid refers to type {@link Bid}, all attributes must be set
+     * @return a {@link CompletableFuture} completed with the placed bid
+     * @throws DuplicateKeyException if there is a bid for the same product and buyer
+     */
+    public CompletableFuture<Bid> submitPlace(Bid bid) {
+        return CompletableFuture.completedFuture(place(bid));
+    }
+
+    /**
+     * Updates the amount of an existing Bid and waits until the update is durable. An update still waiting for the
+     * journal when the ack timeout elapses is withdrawn and rejected, one that already reached the journal thread is
+     * waited for, so that a failure always means the update is not applied.
+     *
+     * @param existingBid refers to the current state of type {@link Bid}
+     * @param newBidAmount refers to the new {@code bidAmount}
+     * @return the updated bid of type {@link Bid}
+     */
+    public Bid update(Bid existingBid, Long newBidAmount) {
+        Bid updatedBid = copy(existingBid);
+        updatedBid.setBidAmount(newBidAmount);
+        PendingBid pendingBid = submit(updatedBid);
+        boolean interrupted = false;
+        try {
+            pendingBid.durable.get(writeBehindConfig.getAckTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            return updatedBid;
+        } catch (ExecutionException exc) {
+            throw toTechnicalException(exc.getCause());
+        } catch (TimeoutException exc) {
+            // Waits for the append below unless the update can still be withdrawn
+        } catch (InterruptedException exc) {
+            interrupted = true;
+        }
+        try {
+            if (journalQueue.remove(pendingBid)) {
+                pendingBids.remove(pendingBid.key, pendingBid);
+                permits.release();
+                throw new TechnicalException("The bid cannot be accepted as it was not made durable in time",
+                        HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            // The journal thread took the update, its append completes or fails it shortly
+            pendingBid.durable.join();
+            return updatedBid;
+        } catch (CompletionException exc) {
+            throw toTechnicalException(exc.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns the Bid of the given product and buyer whose update is accepted but not yet written to Mongo
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param buyerId refers to attribute {@code buyerId}
+     * @return a copy of the pending bid of type {@link Bid} or {@code null} if there is none
+     */
+    public Bid getPendingBid(Integer productId, Integer buyerId) {
+        PendingBid pendingBid = pendingBids.get(key(productId, buyerId));
+        return Objects.nonNull(pendingBid) ? copy(pendingBid.bid) : null;
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new TechnicalException("The bid cannot be accepted as the service is shutting down",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private PendingBid submit(Bid bid) {
+        checkRunning();
+        if (!permits.tryAcquire()) {
+            rejectedCount.incrementAndGet();
+            throw new ServiceOverloadedException(String.format("The bid cannot be accepted as too many bids are " +
+                    "waiting to be written [queueCapacity: %s]", writeBehindConfig.getQueueCapacity()));
+        }
+        Long key = key(bid.getProductId(), bid.getBuyerId());
+        PendingBid pendingBid = new PendingBid(key, copy(bid));
+        pendingBids.put(key, pendingBid);
+        journalQueue.add(pendingBid);
+        return pendingBid;
+    }
+
+    /**
+     * Forces every Bid queued meanwhile to the journal with a single sync (group commit) and hands them to the flusher
+     */
+    private void runJournal() {
+        int batchSize = writeBehindConfig.getBatchSize();
+        List<PendingBid> group = new ArrayList<>(batchSize);
+        List<Bid> bids = new ArrayList<>(batchSize);
+        while (running || !journalQueue.isEmpty()) {
+            try {
+                PendingBid first = journalQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                group.add(first);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            journalQueue.drainTo(group, batchSize - 1);
+            group.forEach(pendingBid -> bids.add(pendingBid.bid));
+            long startTime = System.nanoTime();
+            try {
+                BidJournal.Segment segment = journal.append(bids);
+                syncTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                for (PendingBid pendingBid : group) {
+                    pendingBid.segment = segment;
+                    flushQueue.add(pendingBid);
+                    pendingBid.durable.complete(pendingBid.bid);
+                }
+            } catch (IOException | RuntimeException exc) {
+                eLog.error("Bids cannot be written to the journal [bids: {}]: {}", group.size(), exc.getMessage());
+                TechnicalException techExc = new TechnicalException("The bid cannot be accepted as it cannot be " +
+                        "made durable", exc, HttpStatus.SERVICE_UNAVAILABLE);
+                for (PendingBid pendingBid : group) {
+                    pendingBids.remove(pendingBid.key, pendingBid);
+                    permits.release();
+                    pendingBid.durable.completeExceptionally(techExc);
+                }
+            }
+            group.clear();
+            bids.clear();
+        }
+    }
+
+    /**
+     * Writes the journaled Bids to Mongo, lingering for the flush interval so that a burst is written in full batches
+     */
+    private void runFlusher() {
+        int batchSize = writeBehindConfig.getBatchSize();
+        long lingerNanos = writeBehindConfig.getFlushInterval().toNanos();
+        List<PendingBid> batch = new ArrayList<>(batchSize);
+        while (running || journalThread.isAlive() || !flushQueue.isEmpty()) {
+            try {
+                PendingBid first = flushQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize && running) {
+                    flushQueue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    PendingBid next = flushQueue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (Objects.isNull(next)) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushQueue.drainTo(batch, batchSize - batch.size());
+            } catch (InterruptedException exc) {
+                // The Bids of the batch stay in the journal for the next startup
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!flush(batch)) {
+                return;
+            }
+            // The versions were bumped on acknowledgement, before the bids were readable from Mongo
+            batch.stream().map(pendingBid -> pendingBid.bid.getProductId()).distinct().forEach(bidVersionTracker::bump);
+            releaseSegments(batch);
+            for (PendingBid pendingBid : batch) {
+                pendingBids.remove(pendingBid.key, pendingBid);
+                permits.release();
+            }
+            flushedCount.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Marks the written Bids of each segment at once, so that its checkpoint is forced once per batch. The batch holds
+     * the Bids in the order they were appended.
+     */
+    private void releaseSegments(List<PendingBid> batch) {
+        BidJournal.Segment segment = null;
+        int count = 0;
+        for (PendingBid pendingBid : batch) {
+            if (pendingBid.segment != segment) {
+                if (Objects.nonNull(segment)) {
+                    segment.release(count);
+                }
+                segment = pendingBid.segment;
+                count = 0;
+            }
+            count++;
+        }
+        if (Objects.nonNull(segment)) {
+            segment.release(count);
+        }
+    }
+
+    /**
+     * Writes the given Bids, retrying with backoff while Mongo is unavailable
+     *
+     * @return {@code false} if the Bids are left to the journal as the writer is stopping
+     */
+    private boolean flush(List<PendingBid> batch) {
+        List<Bid> bids = new ArrayList<>(batch.size());
+        batch.forEach(pendingBid -> bids.add(pendingBid.bid));
+        long backoffMillis = POLL_MILLIS;
+        while (true) {
+            try {
+                flushTimer.record(() -> writeBids(bids));
+                return true;
+            } catch (RuntimeException exc) {
+                if (!running) {
+                    eLog.error("Bids are left to the journal for the next startup [bids: {}]: {}", bids.size(),
+                            exc.getMessage());
+                    return false;
+                }
+                eLog.warn("Bids cannot be written, retrying in {}ms [bids: {}]: {}", backoffMillis, bids.size(),
+                        exc.getMessage());
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Upserts the given Bids by id, so that writing a Bid again on replay has no effect. Every Bid was inserted when it
+     * was placed, so Mongo only rejects an update of a Bid deleted meanwhile, such as by a snapshot import, whose
+     * (productId, buyerId) was placed again since. Such an update cannot succeed on a retry and is dropped.
+     */
+    private void writeBids(List<Bid> bids) {
+        if (bids.isEmpty()) {
+            return;
+        }
+        // The last write of a Bid within the batch wins
+        Map<Integer, Bid> latestBids = new LinkedHashMap<>();
+        bids.forEach(bid -> latestBids.put(bid.getId(), bid));
+        List<Bid> writes = new ArrayList<>(latestBids.values());
+        BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Bid.class);
+        writes.forEach(bid -> bulkOperations.upsert(new Query(Criteria.where(FIELD_ID).is(bid.getId())),
+                new Update()
+                        .set(FIELD_PRODUCT_ID, bid.getProductId())
+                        .set(FIELD_BID_AMOUNT, bid.getBidAmount())
+                        .set(FIELD_BUYER_ID, bid.getBuyerId())));
+        try {
+            bulkOperations.execute();
+        } catch (BulkOperationException exc) {
+            for (BulkWriteError writeError : exc.getErrors()) {
+                droppedCount.incrementAndGet();
+                eLog.error("Bid cannot be written and is dropped [bid: {}]: {}", writes.get(writeError.getIndex()),
+                        writeError.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the Bids of the segments left behind by the previous run and deletes the segments. The Bids before the
+     * checkpoint of a segment were written already and are skipped, writing them again would undo newer updates made
+     * through other instances since.
+     */
+    private void replay() throws IOException {
+        List<Path> segments = journal.getRecoveredSegments();
+        if (segments.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        long bidCount = 0;
+        long skippedCount = 0;
+        List<Bid> batch = new ArrayList<>(writeBehindConfig.getBatchSize());
+        for (Path segment : segments) {
+            long flushed = BidJournal.readCheckpoint(segment);
+            skippedCount += flushed;
+            bidCount += BidJournal.read(segment, flushed, bid -> {
+                batch.add(bid);
+                if (batch.size() >= writeBehindConfig.getBatchSize()) {
+                    writeBids(batch);
+                    batch.clear();
+                }
+            });
+            writeBids(batch);
+            batch.clear();
+            BidJournal.delete(segment);
+        }
+        eLog.info("Write-behind journal replayed [segments: {}, bids: {}, skipped: {}, timeTaken: {}ms]",
+                segments.size(), bidCount, skippedCount, System.currentTimeMillis() - startTime);
+    }
+
+    private void registerMetrics() {
+        int queueCapacity = writeBehindConfig.getQueueCapacity();
+        Gauge.builder("bid.ingest.pending", permits, semaphore -> queueCapacity - semaphore.availablePermits())
+                .description("Bids accepted but not yet written to Mongo")
+                .register(meterRegistry);
+        FunctionCounter.builder("bid.ingest.rejected", rejectedCount, AtomicLong::get)
+                .description("Bids rejected as the queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("bid.ingest.flushed", flushedCount, AtomicLong::get)
+                .description("Bids written to Mongo")
+                .register(meterRegistry);
+        FunctionCounter.builder("bid.ingest.dropped", droppedCount, AtomicLong::get)
+                .description("Bids rejected by Mongo after they were accepted")
+                .register(meterRegistry);
+        syncTimer = Timer.builder("bid.ingest.journal.sync")
+                .description("Appending and syncing a group of Bids to the journal")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushTimer = Timer.builder("bid.ingest.flush")
+                .description("Writing a batch of Bids to Mongo")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Long key(Integer productId, Integer buyerId) {
+        return ((long) productId << Integer.SIZE) | (buyerId & 0xFFFFFFFFL);
+    }
+
+    private static Bid copy(Bid bid) {
+        return Bid.builder()
+                .id(bid.getId())
+                .productId(bid.getProductId())
+                .bidAmount(bid.getBidAmount())
+                .buyerId(bid.getBuyerId())
+                .build();
+    }
+
+    /**
+     * A Bid on its way from the request to Mongo
+     */
+    private static class PendingBid {
+
+        private final Long key;
+        private final Bid bid;
+        private final CompletableFuture<Bid> durable = new CompletableFuture<>();
+        // Set by the journal thread before the bid is handed to the flusher
+        private BidJournal.Segment segment;
+
+        PendingBid(Long key, Bid bid) {
+            this.key = key;
+            this.bid = bid;
+        }
+    }
+}
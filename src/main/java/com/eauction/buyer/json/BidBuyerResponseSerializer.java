@@ -0,0 +1,51 @@
+package com.eauction.buyer.json;
+
+import com.eauction.buyer.dto.BidBuyerResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static com.eauction.buyer.json.JsonFields.writeString;
+
+/**
+ * Bid Buyer Response Serializer writing a {@link BidBuyerResponse} with its Bid and Buyer straight to the
+ * {@link JsonGenerator}, with the same fields in the same order as the bean serializer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@JsonComponent
+public class BidBuyerResponseSerializer extends StdSerializer<BidBuyerResponse> {
+
+    private static final long serialVersionUID = -1434127795402687705L;
+
+    private static final SerializableString FIELD_STATUS = new SerializedString("status");
+    private static final SerializableString FIELD_BID = new SerializedString("bid");
+    private static final SerializableString FIELD_BUYER = new SerializedString("buyer");
+    private static final SerializableString FIELD_ERROR_MESSAGE = new SerializedString("errorMessage");
+
+    public BidBuyerResponseSerializer() {
+        super(BidBuyerResponse.class);
+    }
+
+    @Override
+    public void serialize(BidBuyerResponse bidBuyerResponse, JsonGenerator jsonGenerator, SerializerProvider provider)
+            throws IOException {
+        jsonGenerator.writeStartObject(bidBuyerResponse);
+        // Enums are written by name, like the default enum serializer
+        writeString(jsonGenerator, FIELD_STATUS, Objects.nonNull(bidBuyerResponse.getStatus())
+                ? bidBuyerResponse.getStatus().name() : null);
+        jsonGenerator.writeFieldName(FIELD_BID);
+        BidSerializer.write(bidBuyerResponse.getBid(), jsonGenerator);
+        jsonGenerator.writeFieldName(FIELD_BUYER);
+        BuyerSerializer.write(bidBuyerResponse.getBuyer(), jsonGenerator);
+        writeString(jsonGenerator, FIELD_ERROR_MESSAGE, bidBuyerResponse.getErrorMessage());
+        jsonGenerator.writeEndObject();
+    }
+}
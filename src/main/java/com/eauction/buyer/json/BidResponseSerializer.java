@@ -0,0 +1,47 @@
+package com.eauction.buyer.json;
+
+import com.eauction.buyer.dto.BidResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static com.eauction.buyer.json.JsonFields.writeNumber;
+
+/**
+ * Bid Response Serializer writing a {@link BidResponse} and its Buyer straight to the {@link JsonGenerator}, with the
+ * same fields in the same order as the bean serializer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@JsonComponent
+public class BidResponseSerializer extends StdSerializer<BidResponse> {
+
+    private static final long serialVersionUID = 8853177011565190420L;
+
+    private static final SerializableString FIELD_ID = new SerializedString("id");
+    private static final SerializableString FIELD_PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString FIELD_BID_AMOUNT = new SerializedString("bidAmount");
+    private static final SerializableString FIELD_BUYER = new SerializedString("buyer");
+
+    public BidResponseSerializer() {
+        super(BidResponse.class);
+    }
+
+    @Override
+    public void serialize(BidResponse bidResponse, JsonGenerator jsonGenerator, SerializerProvider provider)
+            throws IOException {
+        jsonGenerator.writeStartObject(bidResponse);
+        writeNumber(jsonGenerator, FIELD_ID, bidResponse.getId());
+        writeNumber(jsonGenerator, FIELD_PRODUCT_ID, bidResponse.getProductId());
+        writeNumber(jsonGenerator, FIELD_BID_AMOUNT, bidResponse.getBidAmount());
+        jsonGenerator.writeFieldName(FIELD_BUYER);
+        BuyerSerializer.write(bidResponse.getBuyer(), jsonGenerator);
+        jsonGenerator.writeEndObject();
+    }
+}
@@ -0,0 +1,109 @@
+package com.eauction.buyer.json;
+
+import com.eauction.buyer.model.Bid;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.eauction.buyer.json.JsonFields.writeNumber;
+
+/**
+ * Bid Serializer writing a {@link Bid} straight to the {@link JsonGenerator}, with the same fields in the same order
+ * as the bean serializer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@JsonComponent
+public class BidSerializer extends StdSerializer<Bid> {
+
+    private static final long serialVersionUID = -3620391157326628450L;
+
+    private static final FieldNames FIELD_NAMES = new FieldNames(NameTransformer.NOP);
+
+    public BidSerializer() {
+        super(Bid.class);
+    }
+
+    @Override
+    public void serialize(Bid bid, JsonGenerator jsonGenerator, SerializerProvider provider) throws IOException {
+        write(bid, jsonGenerator);
+    }
+
+    /**
+     * Writes the fields into the enclosing object for a {@code @JsonUnwrapped} Bid, such as the content of the Spring
+     * Data REST resources
+     */
+    @Override
+    public JsonSerializer<Bid> unwrappingSerializer(NameTransformer nameTransformer) {
+        return new UnwrappingBidSerializer(new FieldNames(nameTransformer));
+    }
+
+    static void write(Bid bid, JsonGenerator jsonGenerator) throws IOException {
+        if (Objects.isNull(bid)) {
+            jsonGenerator.writeNull();
+            return;
+        }
+        jsonGenerator.writeStartObject(bid);
+        writeFields(bid, jsonGenerator, FIELD_NAMES);
+        jsonGenerator.writeEndObject();
+    }
+
+    private static void writeFields(Bid bid, JsonGenerator jsonGenerator, FieldNames fieldNames) throws IOException {
+        writeNumber(jsonGenerator, fieldNames.id, bid.getId());
+        writeNumber(jsonGenerator, fieldNames.productId, bid.getProductId());
+        writeNumber(jsonGenerator, fieldNames.bidAmount, bid.getBidAmount());
+        writeNumber(jsonGenerator, fieldNames.buyerId, bid.getBuyerId());
+    }
+
+    /**
+     * The pre-encoded field names, as transformed for an unwrapped Bid
+     */
+    private static final class FieldNames implements Serializable {
+
+        private static final long serialVersionUID = 2940263478913525613L;
+
+        private final SerializableString id;
+        private final SerializableString productId;
+        private final SerializableString bidAmount;
+        private final SerializableString buyerId;
+
+        FieldNames(NameTransformer nameTransformer) {
+            this.id = new SerializedString(nameTransformer.transform("id"));
+            this.productId = new SerializedString(nameTransformer.transform("productId"));
+            this.bidAmount = new SerializedString(nameTransformer.transform("bidAmount"));
+            this.buyerId = new SerializedString(nameTransformer.transform("buyerId"));
+        }
+    }
+
+    private static final class UnwrappingBidSerializer extends StdSerializer<Bid> {
+
+        private static final long serialVersionUID = -5208516320410893247L;
+
+        private final FieldNames fieldNames;
+
+        UnwrappingBidSerializer(FieldNames fieldNames) {
+            super(Bid.class);
+            this.fieldNames = fieldNames;
+        }
+
+        @Override
+        public boolean isUnwrappingSerializer() {
+            return true;
+        }
+
+        @Override
+        public void serialize(Bid bid, JsonGenerator jsonGenerator, SerializerProvider provider) throws IOException {
+            writeFields(bid, jsonGenerator, fieldNames);
+        }
+    }
+}
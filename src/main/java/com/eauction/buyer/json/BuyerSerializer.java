@@ -0,0 +1,125 @@
+package com.eauction.buyer.json;
+
+import com.eauction.buyer.model.Buyer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.eauction.buyer.json.JsonFields.writeNumber;
+import static com.eauction.buyer.json.JsonFields.writeString;
+
+/**
+ * Buyer Serializer writing a {@link Buyer} straight to the {@link JsonGenerator}, with the same fields in the same
+ * order as the bean serializer
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@JsonComponent
+public class BuyerSerializer extends StdSerializer<Buyer> {
+
+    private static final long serialVersionUID = 5105385853040216373L;
+
+    private static final FieldNames FIELD_NAMES = new FieldNames(NameTransformer.NOP);
+
+    public BuyerSerializer() {
+        super(Buyer.class);
+    }
+
+    @Override
+    public void serialize(Buyer buyer, JsonGenerator jsonGenerator, SerializerProvider provider) throws IOException {
+        write(buyer, jsonGenerator);
+    }
+
+    /**
+     * Writes the fields into the enclosing object for a {@code @JsonUnwrapped} Buyer, such as the content of the
+     * Spring Data REST resources
+     */
+    @Override
+    public JsonSerializer<Buyer> unwrappingSerializer(NameTransformer nameTransformer) {
+        return new UnwrappingBuyerSerializer(new FieldNames(nameTransformer));
+    }
+
+    static void write(Buyer buyer, JsonGenerator jsonGenerator) throws IOException {
+        if (Objects.isNull(buyer)) {
+            jsonGenerator.writeNull();
+            return;
+        }
+        jsonGenerator.writeStartObject(buyer);
+        writeFields(buyer, jsonGenerator, FIELD_NAMES);
+        jsonGenerator.writeEndObject();
+    }
+
+    private static void writeFields(Buyer buyer, JsonGenerator jsonGenerator, FieldNames fieldNames) throws IOException {
+        writeNumber(jsonGenerator, fieldNames.id, buyer.getId());
+        writeString(jsonGenerator, fieldNames.firstName, buyer.getFirstName());
+        writeString(jsonGenerator, fieldNames.lastName, buyer.getLastName());
+        writeString(jsonGenerator, fieldNames.address, buyer.getAddress());
+        writeString(jsonGenerator, fieldNames.city, buyer.getCity());
+        writeString(jsonGenerator, fieldNames.state, buyer.getState());
+        writeNumber(jsonGenerator, fieldNames.pin, buyer.getPin());
+        writeString(jsonGenerator, fieldNames.phone, buyer.getPhone());
+        writeString(jsonGenerator, fieldNames.email, buyer.getEmail());
+    }
+
+    /**
+     * The pre-encoded field names, as transformed for an unwrapped Buyer
+     */
+    private static final class FieldNames implements Serializable {
+
+        private static final long serialVersionUID = -1452709264851380917L;
+
+        private final SerializableString id;
+        private final SerializableString firstName;
+        private final SerializableString lastName;
+        private final SerializableString address;
+        private final SerializableString city;
+        private final SerializableString state;
+        private final SerializableString pin;
+        private final SerializableString phone;
+        private final SerializableString email;
+
+        FieldNames(NameTransformer nameTransformer) {
+            this.id = new SerializedString(nameTransformer.transform("id"));
+            this.firstName = new SerializedString(nameTransformer.transform("firstName"));
+            this.lastName = new SerializedString(nameTransformer.transform("lastName"));
+            this.address = new SerializedString(nameTransformer.transform("address"));
+            this.city = new SerializedString(nameTransformer.transform("city"));
+            this.state = new SerializedString(nameTransformer.transform("state"));
+            this.pin = new SerializedString(nameTransformer.transform("pin"));
+            this.phone = new SerializedString(nameTransformer.transform("phone"));
+            this.email = new SerializedString(nameTransformer.transform("email"));
+        }
+    }
+
+    private static final class UnwrappingBuyerSerializer extends StdSerializer<Buyer> {
+
+        private static final long serialVersionUID = 7390224153602846129L;
+
+        private final FieldNames fieldNames;
+
+        UnwrappingBuyerSerializer(FieldNames fieldNames) {
+            super(Buyer.class);
+            this.fieldNames = fieldNames;
+        }
+
+        @Override
+        public boolean isUnwrappingSerializer() {
+            return true;
+        }
+
+        @Override
+        public void serialize(Buyer buyer, JsonGenerator jsonGenerator, SerializerProvider provider) throws IOException {
+            writeFields(buyer, jsonGenerator, fieldNames);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.eauction.buyer.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Json Fields helper class for the hand-written serializers. Field names are written from pre-encoded
+ * {@link SerializableString}s and a {@code null} value is written as {@code null}, like the bean serializer does.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+final class JsonFields {
+
+    private JsonFields() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static void writeNumber(JsonGenerator jsonGenerator, SerializableString name, Integer value) throws IOException {
+        jsonGenerator.writeFieldName(name);
+        if (Objects.isNull(value)) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeNumber(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator jsonGenerator, SerializableString name, Long value) throws IOException {
+        jsonGenerator.writeFieldName(name);
+        if (Objects.isNull(value)) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeNumber(value);
+        }
+    }
+
+    static void writeString(JsonGenerator jsonGenerator, SerializableString name, String value) throws IOException {
+        jsonGenerator.writeFieldName(name);
+        if (Objects.isNull(value)) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeString(value);
+        }
+    }
+}
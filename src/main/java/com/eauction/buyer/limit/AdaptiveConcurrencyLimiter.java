@@ -0,0 +1,89 @@
+package com.eauction.buyer.limit;
+
+import com.eauction.buyer.config.ConcurrencyLimitConfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive Concurrency Limiter bounding the requests in flight with a limit that follows their latency (additive
+ * increase, multiplicative decrease). Every request within the latency threshold grows the limit by {@code 1/limit},
+ * about one per round of requests, as long as the limit is actually used. A request slower than the threshold or
+ * failing with a server error shrinks it by the backoff ratio, at most once per threshold so that one burst of slow
+ * requests counts once.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitConfig.Budget budget) {
+        this.name = name;
+        this.minLimit = Math.max(1, budget.getMinLimit());
+        this.maxLimit = Math.max(minLimit, budget.getMaxLimit());
+        this.latencyThresholdNanos = budget.getLatencyThreshold().toNanos();
+        this.backoffRatio = budget.getBackoffRatio();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, budget.getInitialLimit()));
+        this.lastDecreaseNanos = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    /**
+     * Takes a slot for a request
+     *
+     * @return {@code false} if the limit is reached and the request has to be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back the slot of a completed request and adapts the limit to its outcome
+     *
+     * @param latencyNanos refers to the time the request took
+     * @param failed refers to whether the request failed with a server error
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        adapt(latencyNanos, failed, current);
+    }
+
+    private synchronized void adapt(long latencyNanos, boolean failed, int current) {
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                lastDecreaseNanos = now;
+                limit = Math.max(minLimit, limit * backoffRatio);
+            }
+        } else if (current * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,140 @@
+package com.eauction.buyer.limit;
+
+import com.eauction.buyer.config.ConcurrencyLimitConfig;
+import com.eauction.buyer.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrency Limit Filter shedding load on the Buyer endpoints once they slow down, before the requests pile up and
+ * exhaust the request threads. Writes ({@code place-bid}, {@code place-bids}, {@code update-bid}) and reads
+ * ({@code show-bids}) have separate {@link AdaptiveConcurrencyLimiter}s, so that slow writes never starve the reads.
+ * A request over the limit is answered right away with 503 and {@code Retry-After}. The streaming endpoints, which
+ * hold their connection for long, are not limited.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final String BUYER_PATH = "/e-auction/api/v1/buyer/";
+    private static final String READ_BUDGET = "read";
+    private static final String WRITE_BUDGET = "write";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final String retryAfterSeconds;
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitConfig concurrencyLimitConfig) {
+        this.readLimiter = new AdaptiveConcurrencyLimiter(READ_BUDGET, concurrencyLimitConfig.getRead());
+        this.writeLimiter = new AdaptiveConcurrencyLimiter(WRITE_BUDGET, concurrencyLimitConfig.getWrite());
+        this.retryAfterSeconds = String.valueOf(Math.max(1L, concurrencyLimitConfig.getRetryAfter().getSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = getLimiter(request);
+        if (Objects.isNull(limiter)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(limiter, request, response);
+            return;
+        }
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - startTime, failed);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdaptiveConcurrencyLimiter limiter : new AdaptiveConcurrencyLimiter[]{readLimiter, writeLimiter}) {
+            Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Requests allowed in flight")
+                    .tag("budget", limiter.getName())
+                    .register(registry);
+            Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests in flight")
+                    .tag("budget", limiter.getName())
+                    .register(registry);
+            rejectedCounters.put(limiter.getName(), Counter.builder("concurrency.rejected")
+                    .description("Requests rejected as the limit was reached")
+                    .tag("budget", limiter.getName())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * @return the limiter of the endpoint class of the request or {@code null} if the request is not limited
+     */
+    private AdaptiveConcurrencyLimiter getLimiter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(BUYER_PATH)) {
+            return null;
+        }
+        String operation = path.substring(BUYER_PATH.length());
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method)) {
+            boolean isStream = operation.startsWith("show-bids/stream") || operation.startsWith("bid-stream/");
+            return !isStream && operation.startsWith("show-bids") ? readLimiter : null;
+        }
+        if ((HttpMethod.POST.matches(method) && operation.startsWith("place-bid"))
+                || (HttpMethod.PUT.matches(method) && operation.startsWith("update-bid/"))) {
+            return writeLimiter;
+        }
+        return null;
+    }
+
+    private void reject(AdaptiveConcurrencyLimiter limiter, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Counter rejectedCounter = rejectedCounters.get(limiter.getName());
+        if (Objects.nonNull(rejectedCounter)) {
+            rejectedCounter.increment();
+        }
+        HttpStatus httpStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse errorResponse = new ErrorResponse(httpStatus.value(), httpStatus.getReasonPhrase(),
+                String.format("The request cannot be served as too many %s requests are in flight [limit: %s]",
+                        limiter.getName(), limiter.getLimit()),
+                "uri=" + request.getRequestURI(), new Date());
+        response.setStatus(httpStatus.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,71 @@
+package com.eauction.buyer.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo Command Listener recording the latency of every command sent to Mongo per collection and command
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class MongoCommandMetricsListener implements CommandListener {
+
+    private static final String TIMER_NAME = "mongodb.commands";
+    private static final String GET_MORE_COMMAND = "getMore";
+    private static final String GET_MORE_COLLECTION = "collection";
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    // The collection is only part of the started event, so it is kept until the command completes
+    private final Map<Integer, String> collectionsByRequestId = new ConcurrentHashMap<>();
+
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collectionsByRequestId.put(event.getRequestId(), collectionOf(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "failed", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(int requestId, String commandName, String status, long elapsedNanos) {
+        String collection = collectionsByRequestId.remove(requestId);
+        Timer.builder(TIMER_NAME)
+                .description("Commands sent to Mongo")
+                .tag("collection", collection != null ? collection : UNKNOWN)
+                .tag("command", commandName)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the collection a command targets, which is the value of the command's own field for the CRUD commands
+     */
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue collection = command.get(GET_MORE_COMMAND.equals(commandName) ? GET_MORE_COLLECTION : commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : UNKNOWN;
+    }
+}
@@ -0,0 +1,136 @@
+package com.eauction.buyer.migration;
+
+import com.eauction.buyer.config.BidAmountMigrationConfig;
+import com.eauction.buyer.model.Bid;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Online migration of the bid_info documents still holding the {@code bidAmount} as String. The documents are
+ * converted in batches on a dedicated executor while the service keeps serving requests.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Component
+public class BidAmountMigration {
+
+    private static final Logger eLog = LoggerFactory.getLogger(BidAmountMigration.class);
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_BID_AMOUNT = "bidAmount";
+
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private BidAmountMigrationConfig migrationConfig;
+
+    private ExecutorService migrationExecutor;
+    private volatile boolean completed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (migrationConfig.isEnabled()) {
+            migrationExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("bid-amount-migration-"));
+            migrationExecutor.execute(this::migrate);
+            // Lets the thread go once the migration is done
+            migrationExecutor.shutdown();
+        }
+    }
+
+    @PreDestroy
+    public void stopMigration() {
+        if (Objects.nonNull(migrationExecutor)) {
+            migrationExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether every bid amount has been converted to a number, the String amounts sort above the numbers until then
+     *
+     * @return {@code true} once a migration run left no String bid amount behind
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Converts the String bid amounts to numbers in {@code _id} order, one batch at a time
+     */
+    private void migrate() {
+        String collectionName = mongoOperations.getCollectionName(Bid.class);
+        Object lastId = null;
+        long migrated = 0;
+        long skipped = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Criteria criteria = Criteria.where(FIELD_BID_AMOUNT).type(JsonSchemaObject.Type.STRING);
+                if (Objects.nonNull(lastId)) {
+                    criteria = criteria.and(FIELD_ID).gt(lastId);
+                }
+                Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, FIELD_ID)).limit(migrationConfig.getBatchSize());
+                query.fields().include(FIELD_BID_AMOUNT);
+                List<Document> batch = mongoOperations.find(query, Document.class, collectionName);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                int updates = 0;
+                for (Document document : batch) {
+                    String bidAmount = document.getString(FIELD_BID_AMOUNT);
+                    Long numericBidAmount = toNumber(bidAmount);
+                    if (Objects.isNull(numericBidAmount)) {
+                        skipped++;
+                        eLog.warn("Skipping bid with a non numeric bidAmount [id: {}, bidAmount: {}]",
+                                document.get(FIELD_ID), bidAmount);
+                        continue;
+                    }
+                    // Matches the old value too so that a concurrent update of the bid always wins
+                    Query bidQuery = new Query(Criteria.where(FIELD_ID).is(document.get(FIELD_ID))
+                            .and(FIELD_BID_AMOUNT).is(bidAmount));
+                    bulkOperations.updateOne(bidQuery, new Update().set(FIELD_BID_AMOUNT, numericBidAmount));
+                    updates++;
+                }
+                if (updates > 0) {
+                    migrated += bulkOperations.execute().getModifiedCount();
+                }
+                lastId = batch.get(batch.size() - 1).get(FIELD_ID);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                eLog.info("Bid amount migration interrupted [migrated: {}]", migrated);
+                return;
+            }
+            completed = skipped == 0;
+            eLog.info("Bid amount migration completed [migrated: {}, skipped: {}]", migrated, skipped);
+        } catch (Exception exc) {
+            eLog.error("Bid amount migration stopped [migrated: {}]: {}", migrated, exc.getMessage());
+        }
+    }
+
+    private Long toNumber(String bidAmount) {
+        try {
+            return Long.valueOf(bidAmount.trim());
+        } catch (NumberFormatException exc) {
+            return null;
+        }
+    }
+}
@@ -28,7 +28,7 @@ public class Bid implements Serializable {
     @Field
     private Integer productId;
     @Field
-    private String bidAmount;
+    private Long bidAmount;
     @Field
     private Integer buyerId;
 
@@ -4,10 +4,14 @@ import com.eauction.buyer.model.Buyer;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BuyerRepository extends MongoRepository<Buyer, Integer> {
 
     Optional<Buyer> findByEmail(String email);
+
+    List<Buyer> findByEmailIn(Collection<String> emails);
 }
@@ -0,0 +1,14 @@
+package com.eauction.buyer.repo.reactive;
+
+import com.eauction.buyer.model.Bid;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveBidRepository extends ReactiveMongoRepository<Bid, Integer> {
+
+    Flux<Bid> findByBuyerId(Integer buyerId);
+
+    Flux<Bid> findByProductId(Integer productId);
+}
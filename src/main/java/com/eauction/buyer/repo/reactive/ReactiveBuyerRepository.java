@@ -0,0 +1,12 @@
+package com.eauction.buyer.repo.reactive;
+
+import com.eauction.buyer.model.Buyer;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBuyerRepository extends ReactiveMongoRepository<Buyer, Integer> {
+
+    Mono<Buyer> findByEmail(String email);
+}
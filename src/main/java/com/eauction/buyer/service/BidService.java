@@ -1,9 +1,15 @@
 package com.eauction.buyer.service;
 
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.dto.BulkItemResult;
+import com.eauction.buyer.dto.Product;
 import com.eauction.buyer.model.Bid;
 import com.eauction.buyer.model.Buyer;
 
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Bid Service Interface to manage Bid Details
@@ -29,6 +35,30 @@ public interface BidService {
      */
     List<Bid> getAllBids(Integer buyerOrProductId, boolean isProduct);
 
+    /**
+     * Returns all Bids for the given Product together with their Buyer, joined on the database side
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return a list of {@link BidResponse}
+     */
+    List<BidResponse> getBidResponses(Integer productId);
+
+    /**
+     * Returns the highest Bid for the given Product
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return the highest {@link Bid}
+     */
+    Bid getHighestBid(Integer productId);
+
+    /**
+     * Streams all Bids matching the given filter through a Mongo cursor, one Bid at a time
+     *
+     * @param bidFilter refers to the optional id ranges of type {@link BidFilter}
+     * @param bidConsumer refers to the {@link Consumer} receiving each {@link Bid}
+     */
+    void streamBids(BidFilter bidFilter, Consumer<Bid> bidConsumer);
+
 
     /**
      * Adds a new Bid
@@ -38,6 +68,23 @@ public interface BidService {
      */
     Bid addBid(Bid bid);
 
+    /**
+     * Adds a new Bid for the Product that is already being fetched by the caller
+     *
+     * @param bid refers to a new instance of {@link Bid}
+     * @param product refers to the {@link Future} of the {@link Product} the bid is placed for
+     * @return a newly added bid of type {@link Bid}
+     */
+    Bid addBid(Bid bid, Future<Product> product);
+
+    /**
+     * Adds the given Bids with a single bulk write, fetching each distinct product only once
+     *
+     * @param bids refers to the new instances of {@link Bid}
+     * @return the result of each bid, in the order of the given bids
+     */
+    List<BulkItemResult<Bid>> addBids(List<Bid> bids);
+
     /**
      * Updates an existing Bid
      *
@@ -45,5 +92,15 @@ public interface BidService {
      * @param productId refers to attribute {@code productId} of type {@link Bid}
      * @param newBidAmount refers to attribute {@code bidAmount} of type {@link Bid}
      */
-    Bid updateBid(Integer buyerId, Integer productId, String newBidAmount);
+    Bid updateBid(Integer buyerId, Integer productId, Long newBidAmount);
+
+    /**
+     * Updates an existing Bid for the Product that is already being fetched by the caller
+     *
+     * @param buyerId refers to attribute {@code id} of type {@link Buyer}
+     * @param productId refers to attribute {@code productId} of type {@link Bid}
+     * @param newBidAmount refers to attribute {@code bidAmount} of type {@link Bid}
+     * @param product refers to the {@link Future} of the {@link Product} the bid is placed for
+     */
+    Bid updateBid(Integer buyerId, Integer productId, Long newBidAmount, Future<Product> product);
 }
@@ -0,0 +1,21 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.event.BidEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bid Stream Service Interface to push the Bids of a Product to its subscribers as they are placed or updated
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface BidStreamService {
+
+    /**
+     * Subscribes to the {@link BidEvent}s of the given Product
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return the {@link SseEmitter} the events are sent through
+     */
+    SseEmitter subscribe(Integer productId);
+}
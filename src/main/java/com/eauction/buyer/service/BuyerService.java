@@ -1,5 +1,6 @@
 package com.eauction.buyer.service;
 
+import com.eauction.buyer.dto.BulkItemResult;
 import com.eauction.buyer.model.Buyer;
 
 import java.util.List;
@@ -36,4 +37,12 @@ public interface BuyerService {
      * @return a newly added buyer of type {@link Buyer}
      */
     Buyer addBuyer(Buyer buyer);
+
+    /**
+     * Adds or updates the given Buyers with a single bulk write
+     *
+     * @param buyers refers to the new instances of {@link Buyer}
+     * @return the result of each buyer, in the order of the given buyers
+     */
+    List<BulkItemResult<Buyer>> addBuyers(List<Buyer> buyers);
 }
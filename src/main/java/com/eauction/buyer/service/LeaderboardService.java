@@ -0,0 +1,40 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.dto.BidRank;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+
+import java.util.List;
+
+/**
+ * Leaderboard Service Interface to rank the Bids of a Product in memory
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface LeaderboardService {
+
+    /**
+     * Returns the highest Bids for the given Product, highest first
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param limit refers to the maximum number of bids to return
+     * @return a list of {@link Bid}
+     */
+    List<Bid> getTopBids(Integer productId, int limit);
+
+    /**
+     * Returns the rank of the given Buyer's Bid for the given Product
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param buyerId refers to attribute {@code id} of type {@link Buyer}
+     * @return the {@link BidRank} of the buyer's bid
+     */
+    BidRank getRank(Integer productId, Integer buyerId);
+
+    /**
+     * Drops the leaderboards, which are loaded from Mongo again on their next read, after the bids were changed behind
+     * the service's back
+     */
+    void reload();
+}
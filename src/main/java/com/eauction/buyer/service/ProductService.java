@@ -0,0 +1,31 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.dto.Product;
+
+import java.util.concurrent.Future;
+
+/**
+ * Product Service Interface to retrieve Product Details from the Seller Service
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface ProductService {
+
+    /**
+     * Returns the requested Product
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return the {@link Product} identified by its id or {@code null} if the product doesn't exist
+     */
+    Product getProduct(Integer productId);
+
+    /**
+     * Starts retrieving the requested Product on the I/O executor, so that the caller can do its own I/O meanwhile.
+     * A cached Product is returned as a completed future.
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return a {@link Future} of the {@link Product} identified by its id or {@code null} if the product doesn't exist
+     */
+    Future<Product> getProductAsync(Integer productId);
+}
@@ -0,0 +1,67 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Bid Service Interface to manage Bid Details without blocking. The returned publishers only request as
+ * many documents from Mongo as their subscriber demands.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface ReactiveBidService {
+
+    /**
+     * Returns all Bids
+     *
+     * @return a {@link Flux} of {@link Bid}
+     */
+    Flux<Bid> getAllBids();
+
+    /**
+     * Returns all Bids for the given Product together with their Buyer, joined on the database side
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return a {@link Flux} of {@link BidResponse}
+     */
+    Flux<BidResponse> getBidResponses(Integer productId);
+
+    /**
+     * Returns the highest Bid for the given Product
+     *
+     * @param productId refers to attribute {@code productId}
+     * @return a {@link Mono} of the highest {@link Bid}
+     */
+    Mono<Bid> getHighestBid(Integer productId);
+
+    /**
+     * Streams all Bids matching the given filter
+     *
+     * @param bidFilter refers to the optional id ranges of type {@link BidFilter}
+     * @return a {@link Flux} of {@link Bid}
+     */
+    Flux<Bid> streamBids(BidFilter bidFilter);
+
+    /**
+     * Adds a new Bid
+     *
+     * @param bid refers to a new instance of {@link Bid}
+     * @return a {@link Mono} of the newly added bid of type {@link Bid}
+     */
+    Mono<Bid> addBid(Bid bid);
+
+    /**
+     * Updates an existing Bid
+     *
+     * @param buyerId refers to attribute {@code id} of type {@link Buyer}
+     * @param productId refers to attribute {@code productId} of type {@link Bid}
+     * @param newBidAmount refers to attribute {@code bidAmount} of type {@link Bid}
+     * @return a {@link Mono} of the updated bid of type {@link Bid}
+     */
+    Mono<Bid> updateBid(Integer buyerId, Integer productId, Long newBidAmount);
+}
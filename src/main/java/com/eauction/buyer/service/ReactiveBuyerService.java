@@ -0,0 +1,29 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.model.Buyer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Buyer Service Interface to manage Buyer Details without blocking
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface ReactiveBuyerService {
+
+    /**
+     * Returns requested Buyer
+     *
+     * @param buyerEmail refers to attribute {@code email}
+     * @return a {@link Mono} of the {@link Buyer} identified by its email
+     */
+    Mono<Buyer> getBuyer(String buyerEmail);
+
+    /**
+     * Adds a new Buyer or updates the existing Buyer with the same email
+     *
+     * @param buyer refers to a new instance of {@link Buyer}
+     * @return a {@link Mono} of the newly added buyer of type {@link Buyer}
+     */
+    Mono<Buyer> addBuyer(Buyer buyer);
+}
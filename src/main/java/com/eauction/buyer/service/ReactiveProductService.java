@@ -0,0 +1,21 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.dto.Product;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Product Service Interface to retrieve Product Details from the Seller Service without blocking
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface ReactiveProductService {
+
+    /**
+     * Returns the requested Product
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return a {@link Mono} of the {@link Product} identified by its id, empty if the product doesn't exist
+     */
+    Mono<Product> getProduct(Integer productId);
+}
@@ -1,5 +1,7 @@
 package com.eauction.buyer.service;
 
+import java.util.List;
+
 /**
  * Sequence Service Interface to generate custom sequences
  *
@@ -9,4 +11,18 @@ package com.eauction.buyer.service;
 public interface SequenceService {
 
     Integer getNextSequence(String sequenceName);
+
+    /**
+     * Returns the given number of consecutive sequences, reserved with a single round trip
+     *
+     * @param sequenceName refers to the name of the sequence
+     * @param count refers to the number of sequences to reserve
+     * @return a list of sequences
+     */
+    List<Integer> getNextSequences(String sequenceName, int count);
+
+    /**
+     * Drops the blocks of ids reserved by this instance, so that the next sequence is reserved from Mongo again
+     */
+    void resetSequences();
 }
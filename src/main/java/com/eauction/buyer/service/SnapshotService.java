@@ -0,0 +1,30 @@
+package com.eauction.buyer.service;
+
+import com.eauction.buyer.dto.SnapshotInfo;
+
+/**
+ * Snapshot Service Interface to export and import the Bid and Buyer collections as compressed binary snapshots
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public interface SnapshotService {
+
+    /**
+     * Exports the Bid, Buyer and Sequence collections into a new snapshot. Each collection is written as gzip
+     * compressed, length-prefixed BSON documents, the same layout as a gzipped {@code mongodump} file.
+     *
+     * @return the {@link SnapshotInfo} of the new snapshot
+     */
+    SnapshotInfo exportSnapshot();
+
+    /**
+     * Imports the given snapshot with batched inserts. Documents whose id already exists are skipped unless the
+     * collections are replaced.
+     *
+     * @param name refers to attribute {@code name} of type {@link SnapshotInfo}
+     * @param replace refers to a boolean value to denote the collections are emptied before the import
+     * @return the {@link SnapshotInfo} of the imported snapshot
+     */
+    SnapshotInfo importSnapshot(String name, boolean replace);
+}
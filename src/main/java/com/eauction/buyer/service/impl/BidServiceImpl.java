@@ -1,31 +1,50 @@
 package com.eauction.buyer.service.impl;
 
-import com.eauction.buyer.config.SellerServiceConfig;
+import com.eauction.buyer.config.BulkConfig;
+import com.eauction.buyer.config.WriteBehindConfig;
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.dto.BulkItemResult;
 import com.eauction.buyer.dto.Product;
+import com.eauction.buyer.event.BidEvent;
 import com.eauction.buyer.exception.*;
+import com.eauction.buyer.ingest.WriteBehindBidWriter;
+import com.eauction.buyer.migration.BidAmountMigration;
 import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
 import com.eauction.buyer.repo.BidRepository;
 import com.eauction.buyer.service.BidService;
+import com.eauction.buyer.service.ProductService;
 import com.eauction.buyer.service.SequenceService;
-import org.apache.commons.lang3.StringUtils;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
-import org.springframework.http.*;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.ResponseStatus;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.annotation.Resource;
-import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.eauction.buyer.util.BuyerHelper.*;
+import static com.eauction.buyer.util.ExceptionHelper.toTechnicalException;
+import static com.eauction.buyer.util.FutureHelper.await;
 
 /**
  * Bid Service Implementation Class to manage Bid Details
@@ -36,28 +55,42 @@ import static com.eauction.buyer.util.BuyerHelper.*;
 @Service
 public class BidServiceImpl implements BidService {
 
-    private static final String PARAM_PRODUCT_ID = "product-id";
+    private static final String TIMER_NAME = "bid.service";
     private static final String FIELD_PRODUCT_ID = "productId";
     private static final String FIELD_BUYER_ID = "buyerId";
     private static final String FIELD_BID_AMOUNT = "bidAmount";
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_BUYER = "buyer";
+    private static final int STREAM_BATCH_SIZE = 1000;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
 
     @Resource
     private BidRepository bidRepository;
     @Autowired
     private SequenceService sequenceService;
     @Autowired
-    private SellerServiceConfig sellerServiceConfig;
+    private ProductService productService;
     @Autowired
     private MongoOperations mongoOperations;
     @Autowired
-    RestTemplate restTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private BidAmountMigration bidAmountMigration;
+    @Autowired
+    private BulkConfig bulkConfig;
+    @Autowired
+    private WriteBehindConfig writeBehindConfig;
+    @Autowired(required = false)
+    private WriteBehindBidWriter writeBehindBidWriter;
     
     
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
     public List<Bid> getAllBids() {
         return bidRepository.findAll();
     }
     
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
     public List<Bid> getAllBids(Integer buyerOrProductId, boolean isProduct) {
         if (isProduct) {
@@ -67,118 +100,356 @@ public class BidServiceImpl implements BidService {
         }
     }
 
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public List<BidResponse> getBidResponses(Integer productId) {
+        // Joins bid_info with buyer_info in a single round trip
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(FIELD_PRODUCT_ID).is(productId)),
+                Aggregation.lookup(mongoOperations.getCollectionName(Buyer.class), FIELD_BUYER_ID, FIELD_ID, FIELD_BUYER),
+                Aggregation.unwind(FIELD_BUYER, true),
+                Aggregation.project(FIELD_PRODUCT_ID, FIELD_BID_AMOUNT, FIELD_BUYER));
+        return mongoOperations.aggregate(aggregation, mongoOperations.getCollectionName(Bid.class), BidResponse.class)
+                .getMappedResults();
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public Bid getHighestBid(Integer productId) {
+        return Optional.ofNullable(mongoOperations.findOne(highestBidQuery(productId, bidAmountMigration.isCompleted()),
+                        Bid.class))
+                .orElseThrow(() -> new ResourceNotExistException(String.format("There is no bid placed for the given " +
+                        "product [productId: %s]", productId)));
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public void streamBids(BidFilter bidFilter, Consumer<Bid> bidConsumer) {
+        Query query = new Query();
+        addRangeCriteria(query, FIELD_PRODUCT_ID, bidFilter.getProductIdFrom(), bidFilter.getProductIdTo());
+        addRangeCriteria(query, FIELD_BUYER_ID, bidFilter.getBuyerIdFrom(), bidFilter.getBuyerIdTo());
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+        try (CloseableIterator<Bid> bids = mongoOperations.stream(query, Bid.class)) {
+            bids.forEachRemaining(bidConsumer);
+        }
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
     public Bid addBid(Bid bid) {
+        return addBid(bid, () -> productService.getProduct(bid.getProductId()));
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public Bid addBid(Bid bid, Future<Product> product) {
+        return addBid(bid, () -> await(product));
+    }
+
+    private Bid addBid(Bid bid, Supplier<Product> productSupplier) {
         try {
-            validateNewBidAndThrowException(bid);
+            Product product = productSupplier.get();
+            validateBidAndThrowException(bid, product);
             bid.setId(sequenceService.getNextSequence(Bid.SEQUENCE_NAME));
-            bid = bidRepository.save(bid);
+            bid = insertBidAndThrowException(bid, product);
         } catch (Exception exc) {
-            ResponseStatus responseStatus = AnnotationUtils.findAnnotation(exc.getClass(), ResponseStatus.class);
-            HttpStatus httpStatus = (Objects.nonNull(responseStatus)) ? responseStatus.code() : null;
-            throw new TechnicalException(exc.getMessage(), exc, httpStatus);
+            throw toTechnicalException(exc);
         }
+        eventPublisher.publishEvent(new BidEvent(BidEvent.Type.PLACED, bid));
         return bid;
     }
 
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public List<BulkItemResult<Bid>> addBids(List<Bid> bids) {
+        validateBatchSizeAndThrowException(bids.size(), bulkConfig.getMaxBatchSize());
+        List<BulkItemResult<Bid>> results = new ArrayList<>(Collections.nCopies(bids.size(), null));
+        Map<Integer, Product> products = new HashMap<>();
+        Map<Integer, TechnicalException> productFailures = new HashMap<>();
+        List<Integer> validIndexes = new ArrayList<>(bids.size());
+        for (int index = 0; index < bids.size(); index++) {
+            Bid bid = bids.get(index);
+            try {
+                if (Objects.isNull(bid)) {
+                    throw new InvalidDataException("The bid cannot be placed as the bidRequest is missing");
+                }
+                validateBidAndThrowException(bid, getBatchProduct(bid.getProductId(), products, productFailures));
+                validIndexes.add(index);
+            } catch (Exception exc) {
+                results.set(index, BulkItemResult.failure(toTechnicalException(exc)));
+            }
+        }
+        if (validIndexes.isEmpty()) {
+            return results;
+        }
+        if (Objects.nonNull(writeBehindBidWriter)) {
+            submitBids(bids, validIndexes, results);
+            return results;
+        }
+        try {
+            Iterator<Integer> bidIds = sequenceService.getNextSequences(Bid.SEQUENCE_NAME, validIndexes.size()).iterator();
+            BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Bid.class);
+            validIndexes.forEach(index -> {
+                Bid bid = bids.get(index);
+                bid.setId(bidIds.next());
+                bulkOperations.insert(bid);
+            });
+            bulkOperations.execute();
+        } catch (BulkOperationException exc) {
+            for (BulkWriteError writeError : exc.getErrors()) {
+                int index = validIndexes.get(writeError.getIndex());
+                results.set(index, BulkItemResult.failure(toBulkWriteException(writeError, bids.get(index))));
+            }
+        } catch (Exception exc) {
+            TechnicalException techExc = toTechnicalException(exc);
+            validIndexes.forEach(index -> results.set(index, BulkItemResult.failure(techExc)));
+        }
+        validIndexes.stream()
+                .filter(index -> Objects.isNull(results.get(index)))
+                .forEach(index -> {
+                    results.set(index, BulkItemResult.success(bids.get(index)));
+                    eventPublisher.publishEvent(new BidEvent(BidEvent.Type.PLACED, bids.get(index)));
+                });
+        return results;
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
-    public Bid updateBid(Integer buyerId, Integer productId, String newBidAmount) {
+    public Bid updateBid(Integer buyerId, Integer productId, Long newBidAmount) {
+        return updateBid(buyerId, productId, newBidAmount, () -> productService.getProduct(productId));
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public Bid updateBid(Integer buyerId, Integer productId, Long newBidAmount, Future<Product> product) {
+        return updateBid(buyerId, productId, newBidAmount, () -> await(product));
+    }
+
+    private Bid updateBid(Integer buyerId, Integer productId, Long newBidAmount, Supplier<Product> productSupplier) {
         Bid updatedBid;
         try {
-            validateUpdateBidAndThrowException(buyerId, productId);
-            Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(productId).and(FIELD_BUYER_ID).is(buyerId));
-            Update update = new Update().set(FIELD_BID_AMOUNT, newBidAmount);
-            updatedBid = mongoOperations.findAndModify(query, update,
-                    FindAndModifyOptions.options().returnNew(true), Bid.class);
+            Bid existingBid = validateUpdateBidAndThrowException(buyerId, productId, productSupplier);
+            if (Objects.nonNull(writeBehindBidWriter)) {
+                updatedBid = writeBehindBidWriter.update(existingBid, newBidAmount);
+            } else {
+                Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(productId).and(FIELD_BUYER_ID).is(buyerId));
+                Update update = new Update().set(FIELD_BID_AMOUNT, newBidAmount);
+                updatedBid = mongoOperations.findAndModify(query, update,
+                        FindAndModifyOptions.options().returnNew(true), Bid.class);
+            }
         } catch (Exception exc) {
-            ResponseStatus responseStatus = AnnotationUtils.findAnnotation(exc.getClass(), ResponseStatus.class);
-            HttpStatus httpStatus = (Objects.nonNull(responseStatus)) ? responseStatus.code() : null;
-            throw new TechnicalException(exc.getMessage(), exc, httpStatus);
+            throw toTechnicalException(exc);
+        }
+        if (Objects.nonNull(updatedBid)) {
+            eventPublisher.publishEvent(new BidEvent(BidEvent.Type.UPDATED, updatedBid));
         }
         return updatedBid;
     }
 
     /**
-     * Validates and Throw Exception for the new Bid entry
+     * Submits the valid Bids to the write-behind writer and waits until all of them are durable
+     *
+     * @param bids refers to the list of type {@link Bid}
+     * @param validIndexes refers to the indexes of the bids that passed validation
+     * @param results refers to the results by index, filled in for every valid bid
+     */
+    private void submitBids(List<Bid> bids, List<Integer> validIndexes, List<BulkItemResult<Bid>> results) {
+        List<Integer> bidIds;
+        try {
+            bidIds = sequenceService.getNextSequences(Bid.SEQUENCE_NAME, validIndexes.size());
+        } catch (Exception exc) {
+            TechnicalException techExc = toTechnicalException(exc);
+            validIndexes.forEach(index -> results.set(index, BulkItemResult.failure(techExc)));
+            return;
+        }
+        Map<Integer, CompletableFuture<Bid>> durableBids = new LinkedHashMap<>();
+        for (int position = 0; position < validIndexes.size(); position++) {
+            int index = validIndexes.get(position);
+            Bid bid = bids.get(index);
+            bid.setId(bidIds.get(position));
+            try {
+                durableBids.put(index, writeBehindBidWriter.submitPlace(bid));
+            } catch (DuplicateKeyException exc) {
+                results.set(index, BulkItemResult.failure(new ResourceExistException(String.format("The bid cannot " +
+                        "be placed as there is an existing bid available for the given product [productId: %s, " +
+                        "buyerId: %s]", bid.getProductId(), bid.getBuyerId()))));
+            } catch (Exception exc) {
+                results.set(index, BulkItemResult.failure(toTechnicalException(exc)));
+            }
+        }
+        durableBids.forEach((index, durableBid) -> {
+            try {
+                Bid bid = await(durableBid, writeBehindConfig.getAckTimeout());
+                results.set(index, BulkItemResult.success(bid));
+                eventPublisher.publishEvent(new BidEvent(BidEvent.Type.PLACED, bid));
+            } catch (TechnicalException exc) {
+                results.set(index, BulkItemResult.failure(exc));
+            }
+        });
+    }
+
+    /**
+     * Fetches each distinct Product of a batch only once, a failed lookup fails the other bids of the Product as well
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param products refers to the Products already fetched for the batch
+     * @param productFailures refers to the failed lookups of the batch
+     * @return the {@link Product} or {@code null} if the product doesn't exist
+     */
+    private Product getBatchProduct(Integer productId, Map<Integer, Product> products,
+            Map<Integer, TechnicalException> productFailures) {
+        if (productFailures.containsKey(productId)) {
+            throw productFailures.get(productId);
+        }
+        if (!products.containsKey(productId)) {
+            try {
+                products.put(productId, productService.getProduct(productId));
+            } catch (Exception exc) {
+                TechnicalException techExc = toTechnicalException(exc);
+                productFailures.put(productId, techExc);
+                throw techExc;
+            }
+        }
+        return products.get(productId);
+    }
+
+    /**
+     * Inserts the new Bid and Throw Exception if there is an existing bid for the same product and buyer. The
+     * duplicate is detected through the unique (productId, buyerId) index of the bid_info collection, or by the
+     * write-behind writer when that mode is enabled.
      *
      * @param bid refers to type {@link Bid}
+     * @param product refers to type {@link Product}
+     * @return the inserted bid of type {@link Bid}
      */
-    private void validateNewBidAndThrowException(Bid bid) {
-        Product product = getProductFromSellerService(bid.getProductId());
+    private Bid insertBidAndThrowException(Bid bid, Product product) {
+        try {
+            return Objects.nonNull(writeBehindBidWriter) ? writeBehindBidWriter.place(bid) : bidRepository.insert(bid);
+        } catch (DuplicateKeyException exc) {
+            Bid existingBid = Optional.ofNullable(findExistingBid(bid.getProductId(), bid.getBuyerId())).orElse(bid);
+            throw toResourceExistException(existingBid, product);
+        }
+    }
+
+    private static ResourceExistException toResourceExistException(Bid existingBid, Product product) {
+        return new ResourceExistException(String.format("The bid cannot be placed as there is an existing bid " +
+                "available for the given product [productId: %s, productName: %s, bidAmount: %s, buyerId: %s]",
+                existingBid.getProductId(), product.getProductName(), existingBid.getBidAmount(), existingBid.getBuyerId()));
+    }
+
+    /**
+     * Validates and Throw Exception for the new Bid entry against the Product it is placed for. Shared with the
+     * reactive variant of the service.
+     *
+     * @param bid refers to type {@link Bid}
+     * @param product refers to type {@link Product}
+     */
+    static void validateBidAndThrowException(Bid bid, Product product) {
         if (Objects.isNull(product)) {
             throw new ResourceNotExistException(String.format("The bid cannot be placed as the product doesn't exist " +
                     "[productId: %s]", bid.getProductId()));
         }
-        Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(bid.getProductId()).and(FIELD_BUYER_ID).is(bid.getBuyerId()));
-        Bid existingBid = mongoOperations.findOne(query, Bid.class);
-        if (Objects.nonNull(existingBid)) {
-            throw new ResourceExistException(String.format("The bid cannot be placed as there is an existing bid " +
-                    "available for the given product [productId: %s, productName: %s, bidAmount: %s, buyerId: %s]",
-                    existingBid.getProductId(), product.getProductName(), existingBid.getBidAmount(), existingBid.getBuyerId()));
-        }
         // Validate BidEndDate
-        if (!isFutureDate(now(), toDate(product.getBidEndDate()))) {
+        if (!isFutureEpochDay(product.getBidEndEpochDay())) {
             throw new InvalidDataException(String.format("The bid cannot be placed as the product's bidEndDate is in " +
                     "the past from the current date [bidEndDate: %s]", product.getBidEndDate()));
         }
         // Validate Bid Amount
-        if (StringUtils.isBlank(bid.getBidAmount())
-                || !StringUtils.isNumeric(bid.getBidAmount())
-                || Integer.valueOf(bid.getBidAmount()) < Integer.valueOf(product.getStartingPrice())) {
+        if (Objects.isNull(bid.getBidAmount())
+                || (Objects.nonNull(product.getStartingPrice()) && bid.getBidAmount() < product.getStartingPrice())) {
             throw new InvalidDataException(String.format("The bid cannot be placed as the bidAmount is either empty " +
-                    "or not numeric or lesser than the product's startingPrice [bidAmount: %s]", bid.getBidAmount()));
+                    "or lesser than the product's startingPrice [bidAmount: %s, startingPrice: %s]",
+                    bid.getBidAmount(), product.getStartingPrice()));
         }
     }
 
-    private void validateUpdateBidAndThrowException(Integer buyerId, Integer productId) {
+    private Bid validateUpdateBidAndThrowException(Integer buyerId, Integer productId,
+                                                   Supplier<Product> productSupplier) {
         // Validates Bid exist
-        Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(productId).and(FIELD_BUYER_ID).is(buyerId));
-        Bid existingBid = mongoOperations.findOne(query, Bid.class);
+        Bid existingBid = findExistingBid(productId, buyerId);
         if (Objects.isNull(existingBid)) {
             throw new ResourceNotExistException(String.format("The bid cannot be updated as there is no bid exist for " +
                     "the given product [productId: %s, buyerId: %s]", productId, buyerId));
         } else {
-            Product product = getProductFromSellerService(productId);
-            // Validates Product still exist
-            if (Objects.isNull(product)) {
-                throw new ResourceNotExistException(String.format("The bid cannot be updated as the product no more " +
-                        "exist [productId: %s]", productId));
-            }
-            // Validates BidEndDate
-            if (!isFutureDate(now(), toDate(product.getBidEndDate()))) {
-                throw new InvalidOperationException(String.format("The bid cannot be updated as the bidEndDate is " +
-                        "in the past from the current date [bidEndDate: %s]", product.getBidEndDate()));
-            }
+            validateProductForUpdateAndThrowException(productId, productSupplier.get());
         }
+        return existingBid;
     }
 
-    private Product getProductFromSellerService(Integer productId) {
-        Product product = null;
-        if (Objects.nonNull(productId)) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> httpEntity = new HttpEntity<>(headers);
+    /**
+     * Returns the Bid of the given product and buyer, including a Bid the write-behind writer has not yet written
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param buyerId refers to attribute {@code buyerId}
+     * @return the existing bid of type {@link Bid} or {@code null} if there is none
+     */
+    private Bid findExistingBid(Integer productId, Integer buyerId) {
+        Bid pendingBid = Objects.nonNull(writeBehindBidWriter) ? writeBehindBidWriter.getPendingBid(productId, buyerId) : null;
+        if (Objects.nonNull(pendingBid)) {
+            return pendingBid;
+        }
+        Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(productId).and(FIELD_BUYER_ID).is(buyerId));
+        return mongoOperations.findOne(query, Bid.class);
+    }
 
-            Map<String, Integer> params = new HashMap<>();
-            params.put(PARAM_PRODUCT_ID, productId);
+    /**
+     * Validates and Throw Exception for the Bid update against the Product it is placed for. Shared with the
+     * reactive variant of the service.
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param product refers to type {@link Product}
+     */
+    static void validateProductForUpdateAndThrowException(Integer productId, Product product) {
+        // Validates Product still exist
+        if (Objects.isNull(product)) {
+            throw new ResourceNotExistException(String.format("The bid cannot be updated as the product no more " +
+                    "exist [productId: %s]", productId));
+        }
+        // Validates BidEndDate
+        if (!isFutureEpochDay(product.getBidEndEpochDay())) {
+            throw new InvalidOperationException(String.format("The bid cannot be updated as the bidEndDate is " +
+                    "in the past from the current date [bidEndDate: %s]", product.getBidEndDate()));
+        }
+    }
 
-            URI endpointUri = UriComponentsBuilder.newInstance()
-                    .scheme(sellerServiceConfig.getScheme())
-                    .host(sellerServiceConfig.getHost())
-                    .port(sellerServiceConfig.getPort())
-                    .path(sellerServiceConfig.getProductSearch())
-                    .buildAndExpand(params).toUri();
+    /**
+     * Builds the query of the highest Bid for the given Product, answered from the productId_bidAmount_desc index
+     * alone as only the indexed fields are returned
+     *
+     * @param productId refers to attribute {@code productId}
+     * @param bidAmountsMigrated whether all the String bid amounts have been converted to numbers
+     * @return the {@link Query}
+     */
+    static Query highestBidQuery(Integer productId, boolean bidAmountsMigrated) {
+        Criteria criteria = Criteria.where(FIELD_PRODUCT_ID).is(productId);
+        if (!bidAmountsMigrated) {
+            // String amounts sort above the numbers, so they are left out until the migration converted them
+            criteria = criteria.and(FIELD_BID_AMOUNT).type(JsonSchemaObject.Type.INT_64);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, FIELD_BID_AMOUNT)).limit(1);
+        query.fields().include(FIELD_PRODUCT_ID).include(FIELD_BID_AMOUNT).exclude(FIELD_ID);
+        return query;
+    }
 
-            // Invokes Seller Service to retrieve Product
-            ResponseEntity<Product> responseEntity = restTemplate.exchange(endpointUri, HttpMethod.GET,
-                    httpEntity, Product.class);
-            if (responseEntity.getStatusCode().is2xxSuccessful()
-                    && responseEntity.hasBody()) {
-                product = responseEntity.getBody();
-            }
+    static void addRangeCriteria(Query query, String field, Integer from, Integer to) {
+        if (Objects.isNull(from) && Objects.isNull(to)) {
+            return;
+        }
+        Criteria criteria = Criteria.where(field);
+        if (Objects.nonNull(from)) {
+            criteria.gte(from);
+        }
+        if (Objects.nonNull(to)) {
+            criteria.lte(to);
         }
-        return product;
+        query.addCriteria(criteria);
     }
 
+    private TechnicalException toBulkWriteException(BulkWriteError writeError, Bid bid) {
+        if (writeError.getCode() == DUPLICATE_KEY_ERROR) {
+            return new ResourceExistException(String.format("The bid cannot be placed as there is an existing bid " +
+                    "available for the given product [productId: %s, buyerId: %s]", bid.getProductId(), bid.getBuyerId()));
+        }
+        return new TechnicalException(writeError.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 }
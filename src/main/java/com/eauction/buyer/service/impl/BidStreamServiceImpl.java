@@ -0,0 +1,227 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.config.BidStreamConfig;
+import com.eauction.buyer.event.BidEvent;
+import com.eauction.buyer.service.BidStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bid Stream Service Implementation Class fanning the {@link BidEvent}s of a Product out to its subscribers. Each event
+ * is serialised once and queued per subscriber. A subscriber's queue is drained on a bounded executor of its own, so a
+ * slow client never holds up the bid write or the other subscribers, and a client whose queue is full, or whose drain
+ * cannot be scheduled, is evicted.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+public class BidStreamServiceImpl implements BidStreamService, MeterBinder {
+
+    private static final Logger eLog = LoggerFactory.getLogger(BidStreamServiceImpl.class);
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0L, null, null);
+
+    @Autowired
+    private BidStreamConfig bidStreamConfig;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentMap<Integer, Set<Subscriber>> subscribersByProduct = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong eventId = new AtomicLong();
+    private ScheduledExecutorService heartbeatExecutor;
+    private ExecutorService drainExecutor;
+
+    @PostConstruct
+    public void start() {
+        // Kept apart from the I/O executor and never run on the caller, a drain that cannot be queued evicts instead
+        drainExecutor = new ThreadPoolExecutor(bidStreamConfig.getDrainPoolSize(), bidStreamConfig.getDrainPoolSize(),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(bidStreamConfig.getDrainQueueCapacity()),
+                new CustomizableThreadFactory("bid-stream-drain-"), new ThreadPoolExecutor.AbortPolicy());
+        ((ThreadPoolExecutor) drainExecutor).allowCoreThreadTimeOut(true);
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bid-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = bidStreamConfig.getHeartbeatInterval().toMillis();
+        // Detects the clients that went away without closing their connection
+        heartbeatExecutor.scheduleAtFixedRate(() -> subscribersByProduct.values()
+                .forEach(subscribers -> subscribers.forEach(subscriber -> offer(subscriber, HEARTBEAT))),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeatExecutor.shutdownNow();
+        drainExecutor.shutdownNow();
+        subscribersByProduct.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer productId) {
+        SseEmitter emitter = new SseEmitter(bidStreamConfig.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(productId, emitter, bidStreamConfig.getQueueCapacity());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(exc -> remove(subscriber));
+        subscribersByProduct.compute(productId, (id, subscribers) -> {
+            Set<Subscriber> productSubscribers = Objects.nonNull(subscribers) ? subscribers : ConcurrentHashMap.newKeySet();
+            productSubscribers.add(subscriber);
+            return productSubscribers;
+        });
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    @EventListener
+    public void onBidEvent(BidEvent bidEvent) {
+        Set<Subscriber> subscribers = subscribersByProduct.get(bidEvent.getBid().getProductId());
+        if (Objects.isNull(subscribers) || subscribers.isEmpty()) {
+            return;
+        }
+        StreamEvent event;
+        try {
+            event = new StreamEvent(eventId.incrementAndGet(), bidEvent.getType().name().toLowerCase(),
+                    objectMapper.writeValueAsString(bidEvent.getBid()));
+        } catch (JsonProcessingException exc) {
+            eLog.error("The bid event cannot be streamed [bid: {}]: {}", bidEvent.getBid(), exc.getMessage());
+            return;
+        }
+        subscribers.forEach(subscriber -> offer(subscriber, event));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bid.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Clients subscribed to a bid stream")
+                .register(registry);
+        registry.more().counter("bid.stream.evictions", Collections.emptyList(), evictionCount, AtomicLong::get);
+    }
+
+    private void offer(Subscriber subscriber, StreamEvent event) {
+        if (!subscriber.queue.offer(event)) {
+            evict(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                drainExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException exc) {
+                subscriber.draining.set(false);
+                evict(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            StreamEvent event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event.toSseEvent());
+            }
+        } catch (IOException | IllegalStateException exc) {
+            // The client went away
+            remove(subscriber);
+            subscriber.emitter.completeWithError(exc);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event offered after the last poll but before the flag was reset would wait for the next event otherwise
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evictionCount.incrementAndGet();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        AtomicBoolean removed = new AtomicBoolean();
+        // Drops the set of a product with its last subscriber, atomically with any concurrent subscribe
+        subscribersByProduct.computeIfPresent(subscriber.productId, (id, subscribers) -> {
+            removed.set(subscribers.remove(subscriber));
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+        return removed.get();
+    }
+
+    /**
+     * A client subscribed to the Bids of a Product with its own bounded queue of pending events
+     */
+    private static class Subscriber {
+
+        private final Integer productId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Integer productId, SseEmitter emitter, int queueCapacity) {
+            this.productId = productId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    /**
+     * An event of a Product whose data is serialised once and shared by all subscribers, a heartbeat when it has none
+     */
+    private static class StreamEvent {
+
+        private final long id;
+        private final String name;
+        private final String data;
+
+        StreamEvent(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (Objects.isNull(data)) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(String.valueOf(id)).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.eauction.buyer.service.impl;
 
+import com.eauction.buyer.cache.BuyerCache;
+import com.eauction.buyer.config.BulkConfig;
+import com.eauction.buyer.dto.BulkItemResult;
+import com.eauction.buyer.event.BuyerEvent;
 import com.eauction.buyer.exception.InvalidDataException;
 import com.eauction.buyer.exception.ResourceNotExistException;
 import com.eauction.buyer.exception.TechnicalException;
@@ -7,17 +11,28 @@ import com.eauction.buyer.model.Buyer;
 import com.eauction.buyer.repo.BuyerRepository;
 import com.eauction.buyer.service.BuyerService;
 import com.eauction.buyer.service.SequenceService;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.ResponseStatus;
 
 import javax.annotation.Resource;
 import java.util.*;
 
+import static com.eauction.buyer.util.BuyerHelper.validateBatchSizeAndThrowException;
+import static com.eauction.buyer.util.ExceptionHelper.toTechnicalException;
+
 /**
  * Buyer Service Implementation Class to manage Buyer Details
  *
@@ -27,11 +42,24 @@ import java.util.*;
 @Service
 public class BuyerServiceImpl implements BuyerService {
 
+    private static final String TIMER_NAME = "buyer.service";
+    private static final String FIELD_ID = "_id";
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
     @Resource
     private BuyerRepository buyerRepository;
     @Autowired
     private SequenceService sequenceService;
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private BuyerCache buyerCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private BulkConfig bulkConfig;
 
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
     public Map<Integer, Buyer> getBuyers(List<Integer> buyerIds) {
         Map<Integer, Buyer> buyerMap = new HashMap<>(0);
@@ -39,55 +67,180 @@ public class BuyerServiceImpl implements BuyerService {
             Iterable<Buyer> buyers = buyerRepository.findAllById(buyerIds);
             buyers.forEach(buyer -> buyerMap.put(buyer.getId(), buyer));
         } catch (Exception exc) {
-            ResponseStatus responseStatus = AnnotationUtils.findAnnotation(exc.getClass(), ResponseStatus.class);
-            HttpStatus httpStatus = (Objects.nonNull(responseStatus)) ? responseStatus.code() : null;
-            throw new TechnicalException(exc.getMessage(), exc, httpStatus);
+            throw toTechnicalException(exc);
         }
         return buyerMap;
     }
 
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
     public Buyer getBuyer(String buyerEmail) {
         Buyer buyer;
         try {
-            Optional<Buyer> buyerDoc = buyerRepository.findByEmail(buyerEmail);
-            if (buyerDoc.isEmpty()) {
+            buyer = Objects.nonNull(buyerEmail)
+                    ? buyerCache.get(buyerEmail, email -> buyerRepository.findByEmail(email).orElse(null)) : null;
+            if (Objects.isNull(buyer)) {
                 throw new ResourceNotExistException(String.format("The requested Buyer doesn't exist [buyerEmail: %s]", buyerEmail));
-            } else {
-                buyer = buyerDoc.get();
             }
         } catch (Exception exc) {
-            ResponseStatus responseStatus = AnnotationUtils.findAnnotation(exc.getClass(), ResponseStatus.class);
-            HttpStatus httpStatus = (Objects.nonNull(responseStatus)) ? responseStatus.code() : null;
-            throw new TechnicalException(exc.getMessage(), exc, httpStatus);
+            throw toTechnicalException(exc);
         }
         return buyer;
     }
 
+    @Timed(value = TIMER_NAME, histogram = true)
     @Override
     public Buyer addBuyer(Buyer buyer) {
         try {
-            validateNewBuyerAndThrowException(buyer);
-            buyer.setId(sequenceService.getNextSequence(Buyer.SEQUENCE_NAME));
-            buyer = buyerRepository.save(buyer);
+            try {
+                buyer = saveBuyer(buyer);
+            } catch (DuplicateKeyException exc) {
+                // A concurrent request added the same email first, the retry updates that buyer instead
+                buyer.setId(null);
+                buyer = saveBuyer(buyer);
+            }
         } catch (Exception exc) {
-            ResponseStatus responseStatus = AnnotationUtils.findAnnotation(exc.getClass(), ResponseStatus.class);
-            HttpStatus httpStatus = (Objects.nonNull(responseStatus)) ? responseStatus.code() : null;
-            throw new TechnicalException(exc.getMessage(), exc, httpStatus);
+            throw toTechnicalException(exc);
+        } finally {
+            if (Objects.nonNull(buyer)) {
+                buyerCache.invalidate(buyer.getEmail());
+            }
         }
         return buyer;
     }
 
+    /**
+     * Saves the given Buyer under the id of the existing Buyer with the same email or under a new id
+     *
+     * @param buyer refers to type {@link Buyer}
+     * @return the saved buyer of type {@link Buyer}
+     */
+    private Buyer saveBuyer(Buyer buyer) {
+        Optional<Buyer> existingBuyer = validateNewBuyerAndThrowException(buyer);
+        if (Objects.isNull(buyer.getId())) {
+            buyer.setId(sequenceService.getNextSequence(Buyer.SEQUENCE_NAME));
+        }
+        Buyer savedBuyer = buyerRepository.save(buyer);
+        if (existingBuyer.isPresent() && !existingBuyer.get().equals(savedBuyer)) {
+            eventPublisher.publishEvent(new BuyerEvent(savedBuyer));
+        }
+        return savedBuyer;
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public List<BulkItemResult<Buyer>> addBuyers(List<Buyer> buyers) {
+        validateBatchSizeAndThrowException(buyers.size(), bulkConfig.getMaxBatchSize());
+        List<BulkItemResult<Buyer>> results = new ArrayList<>(Collections.nCopies(buyers.size(), null));
+        // The last buyer of an email wins, like consecutive addBuyer calls would
+        Map<String, Buyer> buyersByEmail = new LinkedHashMap<>();
+        for (int index = 0; index < buyers.size(); index++) {
+            Buyer buyer = buyers.get(index);
+            try {
+                if (Objects.isNull(buyer)) {
+                    throw new InvalidDataException("The buyer cannot be added as the buyerRequest is missing");
+                }
+                validateBuyerAndThrowException(buyer);
+                buyersByEmail.put(buyer.getEmail(), buyer);
+            } catch (TechnicalException exc) {
+                results.set(index, BulkItemResult.failure(exc));
+            }
+        }
+        if (buyersByEmail.isEmpty()) {
+            return results;
+        }
+        List<String> emails = new ArrayList<>(buyersByEmail.keySet());
+        Map<String, TechnicalException> failures = new HashMap<>();
+        Map<String, Buyer> existingBuyers = new HashMap<>();
+        try {
+            // Existing buyers keep their id, the new ones get a block of ids reserved at once
+            Map<String, Integer> buyerIds = new HashMap<>();
+            buyerRepository.findByEmailIn(emails).forEach(buyer -> {
+                existingBuyers.put(buyer.getEmail(), buyer);
+                buyerIds.put(buyer.getEmail(), buyer.getId());
+            });
+            List<String> newEmails = new ArrayList<>(emails);
+            newEmails.removeAll(buyerIds.keySet());
+            Iterator<Integer> newBuyerIds = sequenceService.getNextSequences(Buyer.SEQUENCE_NAME, newEmails.size()).iterator();
+            newEmails.forEach(email -> buyerIds.put(email, newBuyerIds.next()));
+
+            BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Buyer.class);
+            emails.forEach(email -> {
+                Buyer buyer = buyersByEmail.get(email);
+                buyer.setId(buyerIds.get(email));
+                bulkOperations.replaceOne(new Query(Criteria.where(FIELD_ID).is(buyer.getId())), buyer,
+                        FindAndReplaceOptions.options().upsert());
+            });
+            bulkOperations.execute();
+        } catch (BulkOperationException exc) {
+            for (BulkWriteError writeError : exc.getErrors()) {
+                String email = emails.get(writeError.getIndex());
+                if (writeError.getCode() == DUPLICATE_KEY_ERROR) {
+                    // A concurrent request added the same email first, the retry updates that buyer like addBuyer
+                    retryBuyer(buyersByEmail.get(email)).ifPresent(techExc -> failures.put(email, techExc));
+                    existingBuyers.remove(email);
+                } else {
+                    failures.put(email, new TechnicalException(writeError.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR));
+                }
+            }
+        } catch (Exception exc) {
+            TechnicalException techExc = toTechnicalException(exc);
+            emails.forEach(email -> failures.put(email, techExc));
+        }
+        emails.forEach(buyerCache::invalidate);
+        existingBuyers.forEach((email, existingBuyer) -> {
+            if (!failures.containsKey(email) && !existingBuyer.equals(buyersByEmail.get(email))) {
+                eventPublisher.publishEvent(new BuyerEvent(buyersByEmail.get(email)));
+            }
+        });
+        for (int index = 0; index < buyers.size(); index++) {
+            if (Objects.isNull(results.get(index))) {
+                String email = buyers.get(index).getEmail();
+                results.set(index, failures.containsKey(email) ? BulkItemResult.failure(failures.get(email))
+                        : BulkItemResult.success(buyersByEmail.get(email)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Saves again the given Buyer whose email was added concurrently, under the id of that buyer
+     *
+     * @param buyer refers to type {@link Buyer}
+     * @return the failure of the retry, empty if the buyer got saved
+     */
+    private Optional<TechnicalException> retryBuyer(Buyer buyer) {
+        try {
+            buyer.setId(null);
+            Buyer savedBuyer = saveBuyer(buyer);
+            buyer.setId(savedBuyer.getId());
+            return Optional.empty();
+        } catch (Exception exc) {
+            return Optional.of(toTechnicalException(exc));
+        }
+    }
+
     /**
      * Validates and Throw Exception for the new Buyer entry
      *
      * @param buyer refers to type {@link Buyer}
+     * @return the existing buyer with the same email of type {@link Buyer}, if any
      */
-    private void validateNewBuyerAndThrowException(Buyer buyer) {
+    private Optional<Buyer> validateNewBuyerAndThrowException(Buyer buyer) {
         Optional<Buyer> buyerDoc = buyerRepository.findByEmail(buyer.getEmail());
         if (buyerDoc.isPresent()) {
             buyer.setId(buyerDoc.get().getId());
         }
+        validateBuyerAndThrowException(buyer);
+        return buyerDoc;
+    }
+
+    /**
+     * Validates and Throw Exception for the Buyer details. Shared with the reactive variant of the service.
+     *
+     * @param buyer refers to type {@link Buyer}
+     */
+    static void validateBuyerAndThrowException(Buyer buyer) {
         // Validates FirstName
         if (StringUtils.isBlank(buyer.getFirstName())
                 || (StringUtils.length(buyer.getFirstName()) < 5
@@ -0,0 +1,233 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.config.LeaderboardConfig;
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidRank;
+import com.eauction.buyer.dto.Product;
+import com.eauction.buyer.event.BidEvent;
+import com.eauction.buyer.exception.ResourceNotExistException;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.service.BidService;
+import com.eauction.buyer.service.LeaderboardService;
+import com.eauction.buyer.service.ProductService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+import static com.eauction.buyer.util.BuyerHelper.toEpochMilli;
+
+/**
+ * Leaderboard Service Implementation Class to rank the Bids of a Product in memory. The leaderboard of a Product is
+ * loaded from Mongo on its first read, kept up to date through {@link BidEvent}s, and expires once the Product's
+ * bidding has ended.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService, MeterBinder {
+
+    private static final Logger eLog = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    private static final String CACHE_NAME = "leaderboard-cache";
+
+    // Highest amount first, the earlier bid wins a tie
+    private static final Comparator<Bid> BID_ORDER = Comparator
+            .comparing(Bid::getBidAmount, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Bid::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Bid::getBuyerId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private BidService bidService;
+    @Autowired
+    private ProductService productService;
+
+    private final Cache<Integer, ProductLeaderboard> leaderboards;
+
+    public LeaderboardServiceImpl(LeaderboardConfig leaderboardConfig) {
+        this.leaderboards = Caffeine.newBuilder()
+                .maximumSize(leaderboardConfig.getMaximumSize())
+                .expireAfter(new LeaderboardExpiry(leaderboardConfig.getTimeToLive(),
+                        leaderboardConfig.getClosedTimeToLive()))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public List<Bid> getTopBids(Integer productId, int limit) {
+        return leaderboards.get(productId, this::load).top(limit);
+    }
+
+    @Override
+    public BidRank getRank(Integer productId, Integer buyerId) {
+        BidRank bidRank = leaderboards.get(productId, this::load).rank(productId, buyerId);
+        if (Objects.isNull(bidRank)) {
+            throw new ResourceNotExistException(String.format("There is no bid placed by the buyer for the given " +
+                    "product [productId: %s, buyerId: %s]", productId, buyerId));
+        }
+        return bidRank;
+    }
+
+    /**
+     * Applies the Bid to the leaderboard of its Product if it is loaded. A leaderboard still being loaded gets the Bid
+     * once the load is done, as both run under the lock of the Product's entry.
+     *
+     * @param bidEvent refers to type {@link BidEvent}
+     */
+    @EventListener
+    public void onBidEvent(BidEvent bidEvent) {
+        Bid bid = bidEvent.getBid();
+        leaderboards.asMap().computeIfPresent(bid.getProductId(), (productId, leaderboard) -> {
+            leaderboard.put(bid);
+            return leaderboard;
+        });
+    }
+
+    @Override
+    public void reload() {
+        leaderboards.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, leaderboards, CACHE_NAME);
+    }
+
+    private ProductLeaderboard load(Integer productId) {
+        long startTime = System.currentTimeMillis();
+        ProductLeaderboard leaderboard = new ProductLeaderboard(getBidEndMillis(productId));
+        bidService.streamBids(BidFilter.builder().productIdFrom(productId).productIdTo(productId).build(),
+                leaderboard::put);
+        eLog.debug("Leaderboard loaded [productId: {}, bids: {}, timeTaken: {}ms]", productId, leaderboard.size(),
+                System.currentTimeMillis() - startTime);
+        return leaderboard;
+    }
+
+    /**
+     * @return the end of the Product's last bidding day, {@code null} if it cannot be told
+     */
+    private Long getBidEndMillis(Integer productId) {
+        try {
+            Product product = productService.getProduct(productId);
+            Long bidEndEpochDay = Objects.nonNull(product) ? product.getBidEndEpochDay() : null;
+            return Objects.nonNull(bidEndEpochDay) ? toEpochMilli(bidEndEpochDay + 1) : null;
+        } catch (RuntimeException exc) {
+            eLog.warn("Bid end date of the leaderboard cannot be retrieved [productId: {}]: {}", productId,
+                    exc.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Ranked Bids of a single Product. Writes are serialised per product, reads are lock-free.
+     */
+    private static class ProductLeaderboard {
+
+        private final Long bidEndMillis;
+        private final ConcurrentSkipListSet<Bid> ranking = new ConcurrentSkipListSet<>(BID_ORDER);
+        private final ConcurrentMap<Integer, Bid> bidsByBuyer = new ConcurrentHashMap<>();
+        // The size of a skip list is counted by walking it
+        private volatile int size;
+
+        ProductLeaderboard(Long bidEndMillis) {
+            this.bidEndMillis = bidEndMillis;
+        }
+
+        synchronized void put(Bid bid) {
+            Bid existingBid = bidsByBuyer.get(bid.getBuyerId());
+            if (Objects.nonNull(existingBid)) {
+                ranking.remove(existingBid);
+            }
+            // Keeps its own copy as the ordering must not change while the bid is ranked
+            Bid rankedBid = Bid.builder()
+                    .id(bid.getId())
+                    .productId(bid.getProductId())
+                    .bidAmount(bid.getBidAmount())
+                    .buyerId(bid.getBuyerId())
+                    .build();
+            bidsByBuyer.put(rankedBid.getBuyerId(), rankedBid);
+            ranking.add(rankedBid);
+            size = bidsByBuyer.size();
+        }
+
+        int size() {
+            return size;
+        }
+
+        List<Bid> top(int limit) {
+            List<Bid> topBids = new ArrayList<>(Math.min(Math.max(limit, 0), size));
+            Iterator<Bid> bids = ranking.iterator();
+            while (topBids.size() < limit && bids.hasNext()) {
+                topBids.add(bids.next());
+            }
+            return topBids;
+        }
+
+        BidRank rank(Integer productId, Integer buyerId) {
+            Bid bid = bidsByBuyer.get(buyerId);
+            if (Objects.isNull(bid)) {
+                return null;
+            }
+            // Walks only the bids ranked higher, the total comes from the counter
+            return BidRank.builder()
+                    .productId(productId)
+                    .buyerId(buyerId)
+                    .bidAmount(bid.getBidAmount())
+                    .rank(ranking.headSet(bid).size() + 1)
+                    .totalBids(size)
+                    .build();
+        }
+    }
+
+    /**
+     * Expires a leaderboard once its Product's bidding has ended, or after the configured time to live if the end is
+     * not known
+     */
+    private static class LeaderboardExpiry implements Expiry<Integer, ProductLeaderboard> {
+
+        private final long timeToLiveNanos;
+        private final long closedTimeToLiveNanos;
+
+        LeaderboardExpiry(Duration timeToLive, Duration closedTimeToLive) {
+            this.timeToLiveNanos = timeToLive.toNanos();
+            this.closedTimeToLiveNanos = closedTimeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Integer productId, ProductLeaderboard leaderboard, long currentTime) {
+            if (Objects.isNull(leaderboard.bidEndMillis)) {
+                return timeToLiveNanos;
+            }
+            long untilBidEnd = TimeUnit.MILLISECONDS.toNanos(leaderboard.bidEndMillis - System.currentTimeMillis());
+            // A closed product's leaderboard no longer changes, it is only kept for the reads right after the close
+            return untilBidEnd > 0 ? untilBidEnd : closedTimeToLiveNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer productId, ProductLeaderboard leaderboard, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Integer productId, ProductLeaderboard leaderboard, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.cache.ProductCache;
+import com.eauction.buyer.config.SellerServiceConfig;
+import com.eauction.buyer.dto.Product;
+import com.eauction.buyer.exception.TechnicalException;
+import com.eauction.buyer.service.ProductService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.eauction.buyer.util.FutureHelper.await;
+
+/**
+ * Product Service Implementation Class to retrieve Product Details from the Seller Service. Concurrent lookups of the
+ * same product share a single call. The calls go through a bulkhead and a circuit breaker; while they fail, the last
+ * known good copy of a product stands in and is refreshed in the background.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+public class ProductServiceImpl implements ProductService {
+
+    private static final String PARAM_PRODUCT_ID = "product-id";
+    private static final String TIMER_NAME = "seller.service.requests";
+    private static final String TAG_OUTCOME = "outcome";
+    private static final String FALLBACK_COUNTER_NAME = "seller.service.fallbacks";
+    private static final String FETCH_COUNTER_NAME = "seller.service.fetches";
+    private static final String TAG_RESULT = "result";
+
+    @Autowired
+    private SellerServiceConfig sellerServiceConfig;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    RestTemplate restTemplate;
+    @Autowired
+    private ExecutorService ioExecutor;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CircuitBreaker sellerServiceCircuitBreaker;
+    @Autowired
+    private Bulkhead sellerServiceBulkhead;
+
+    private final ConcurrentMap<Integer, CompletableFuture<Product>> inFlightFetches = new ConcurrentHashMap<>();
+    private final Set<Integer> refreshingProductIds = ConcurrentHashMap.newKeySet();
+    private ExecutorService fetchExecutor;
+    private Duration fetchTimeout;
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    public void start() {
+        SellerServiceConfig.Resilience resilience = sellerServiceConfig.getResilience();
+        SellerServiceConfig.Connection connection = sellerServiceConfig.getConnection();
+        // A call waits for a pooled connection, connects and reads, each bounded by its own timeout
+        fetchTimeout = connection.getPoolAcquireTimeout().plus(connection.getConnectTimeout())
+                .plus(connection.getReadTimeout());
+        // Sized to the bulkhead without a queue, so that an excess fetch is shed at once like the bulkhead would shed
+        // it, instead of waiting for a slow seller service
+        fetchExecutor = new ThreadPoolExecutor(resilience.getMaxConcurrentCalls(), resilience.getMaxConcurrentCalls(),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("product-fetch-"), new ThreadPoolExecutor.AbortPolicy());
+        ((ThreadPoolExecutor) fetchExecutor).allowCoreThreadTimeOut(true);
+        // A refresh that cannot be queued is discarded, the next lookup of a stale product asks for it again
+        refreshExecutor = new ThreadPoolExecutor(resilience.getRefreshPoolSize(), resilience.getRefreshPoolSize(),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(resilience.getRefreshQueueCapacity()),
+                new CustomizableThreadFactory("product-refresh-"),
+                (refresh, executor) -> refreshingProductIds.remove(((ProductRefresh) refresh).productId));
+        ((ThreadPoolExecutor) refreshExecutor).allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Lets the queued fetches finish, their lookups would wait for them forever otherwise
+        fetchExecutor.shutdown();
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public Product getProduct(Integer productId) {
+        if (Objects.isNull(productId)) {
+            return null;
+        }
+        Optional<Product> cachedProduct = productCache.get(productId);
+        if (Objects.nonNull(cachedProduct)) {
+            return cachedProduct.orElse(null);
+        }
+        try {
+            return fetchProductOnce(productId);
+        } catch (RuntimeException exc) {
+            // An abandoned lookup is no failure of the seller service, nor a reason to refresh the product
+            if (Thread.currentThread().isInterrupted()) {
+                throw exc;
+            }
+            return getStaleProduct(productId, exc);
+        }
+    }
+
+    @Override
+    public Future<Product> getProductAsync(Integer productId) {
+        if (Objects.isNull(productId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Optional<Product> cachedProduct = productCache.get(productId);
+        if (Objects.nonNull(cachedProduct)) {
+            return CompletableFuture.completedFuture(cachedProduct.orElse(null));
+        }
+        return ioExecutor.submit(() -> getProduct(productId));
+    }
+
+    /**
+     * Retrieves the Product, sharing the call in flight for the same Product with the concurrent lookups. They all get
+     * its Product or its failure. The call runs on the fetch executor rather than on the thread of the first lookup,
+     * so that every lookup only waits and none of them can interrupt the call of the others.
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return the {@link Product} or {@code null} if the product doesn't exist
+     */
+    private Product fetchProductOnce(Integer productId) {
+        CompletableFuture<Product> fetch = new CompletableFuture<>();
+        CompletableFuture<Product> inFlightFetch = inFlightFetches.putIfAbsent(productId, fetch);
+        if (Objects.nonNull(inFlightFetch)) {
+            meterRegistry.counter(FETCH_COUNTER_NAME, TAG_RESULT, "coalesced").increment();
+            return awaitFetch(inFlightFetch);
+        }
+        try {
+            fetchExecutor.execute(() -> runFetch(productId, fetch));
+        } catch (RejectedExecutionException exc) {
+            inFlightFetches.remove(productId, fetch);
+            fetch.completeExceptionally(new TechnicalException(String.format("The product cannot be retrieved as " +
+                    "too many lookups are in flight [productId: %s]", productId), exc, HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        return awaitFetch(fetch);
+    }
+
+    private void runFetch(Integer productId, CompletableFuture<Product> fetch) {
+        try {
+            // A call that completed since the cache was checked has already cached its outcome
+            Optional<Product> cachedProduct = productCache.get(productId);
+            if (Objects.nonNull(cachedProduct)) {
+                meterRegistry.counter(FETCH_COUNTER_NAME, TAG_RESULT, "coalesced").increment();
+                fetch.complete(cachedProduct.orElse(null));
+            } else {
+                meterRegistry.counter(FETCH_COUNTER_NAME, TAG_RESULT, "called").increment();
+                fetch.complete(fetchProduct(productId));
+            }
+        } catch (RuntimeException exc) {
+            fetch.completeExceptionally(exc);
+        } finally {
+            inFlightFetches.remove(productId, fetch);
+        }
+    }
+
+    /**
+     * Waits for a shared call without cancelling it, as other lookups may still wait for it. A lookup that is
+     * interrupted or outlasts the longest a seller call can take stops waiting and leaves the call running.
+     */
+    private Product awaitFetch(CompletableFuture<Product> fetch) {
+        return await(fetch, fetchTimeout);
+    }
+
+    /**
+     * Retrieves the Product through the bulkhead and the circuit breaker and caches the outcome
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @return the {@link Product} or {@code null} if the product doesn't exist
+     */
+    private Product fetchProduct(Integer productId) {
+        Product product = Bulkhead.decorateSupplier(sellerServiceBulkhead,
+                CircuitBreaker.decorateSupplier(sellerServiceCircuitBreaker,
+                        () -> getProductFromSellerService(productId)))
+                .get();
+        if (Objects.nonNull(product)) {
+            productCache.put(productId, product);
+        } else {
+            productCache.putNotFound(productId);
+        }
+        return product;
+    }
+
+    /**
+     * Returns the last known good copy of the Product as the Seller Service cannot be used and refreshes it in the
+     * background. Without a copy the Product cannot be validated and the Seller Service is reported unavailable.
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     * @param exc refers to the failure of the Seller Service call
+     * @return the stale {@link Product}
+     */
+    private Product getStaleProduct(Integer productId, RuntimeException exc) {
+        Product staleProduct = productCache.getStale(productId);
+        if (Objects.isNull(staleProduct)) {
+            meterRegistry.counter(FALLBACK_COUNTER_NAME, TAG_OUTCOME, "unavailable").increment();
+            throw new TechnicalException(String.format("The product cannot be retrieved as the seller service is " +
+                    "unavailable [productId: %s]: %s", productId, exc.getMessage()), exc, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        meterRegistry.counter(FALLBACK_COUNTER_NAME, TAG_OUTCOME, "stale").increment();
+        refreshInBackground(productId);
+        return staleProduct;
+    }
+
+    /**
+     * Refreshes the Product on the small refresh executor, once at a time per Product, so that refreshes never take
+     * the threads of the requests. While the circuit is open the refresh fails fast, once it is half open the refresh
+     * is one of the trial calls.
+     *
+     * @param productId refers to attribute {@code id} of type {@link Product}
+     */
+    private void refreshInBackground(Integer productId) {
+        if (refreshingProductIds.add(productId)) {
+            refreshExecutor.execute(new ProductRefresh(productId));
+        }
+    }
+
+    private Product getProductFromSellerService(Integer productId) {
+        Product product = null;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> httpEntity = new HttpEntity<>(headers);
+
+        Map<String, Integer> params = new HashMap<>();
+        params.put(PARAM_PRODUCT_ID, productId);
+
+        URI endpointUri = UriComponentsBuilder.newInstance()
+                .scheme(sellerServiceConfig.getScheme())
+                .host(sellerServiceConfig.getHost())
+                .port(sellerServiceConfig.getPort())
+                .path(sellerServiceConfig.getProductSearch())
+                .buildAndExpand(params).toUri();
+
+        // Invokes Seller Service to retrieve Product
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<Product> responseEntity = restTemplate.exchange(endpointUri, HttpMethod.GET,
+                    httpEntity, Product.class);
+            if (responseEntity.getStatusCode().is2xxSuccessful()
+                    && responseEntity.hasBody()) {
+                product = responseEntity.getBody();
+            }
+            outcome = Objects.nonNull(product) ? "found" : "empty";
+        } catch (HttpClientErrorException.NotFound exc) {
+            // Seller Service responds with 404 for an unknown product
+            product = null;
+            outcome = "not_found";
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Product lookups against the Seller Service")
+                    .tag(TAG_OUTCOME, outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return product;
+    }
+
+    /**
+     * A background refresh of a stale Product
+     */
+    private class ProductRefresh implements Runnable {
+
+        private final Integer productId;
+
+        ProductRefresh(Integer productId) {
+            this.productId = productId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                fetchProductOnce(productId);
+            } catch (RuntimeException exc) {
+                // Still unavailable, the stale copy keeps standing in
+            } finally {
+                refreshingProductIds.remove(productId);
+            }
+        }
+    }
+}
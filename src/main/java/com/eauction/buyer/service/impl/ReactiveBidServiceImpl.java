@@ -0,0 +1,175 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.dto.BidFilter;
+import com.eauction.buyer.dto.BidResponse;
+import com.eauction.buyer.dto.Product;
+import com.eauction.buyer.event.BidEvent;
+import com.eauction.buyer.exception.ResourceExistException;
+import com.eauction.buyer.exception.ResourceNotExistException;
+import com.eauction.buyer.migration.BidAmountMigration;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import com.eauction.buyer.repo.reactive.ReactiveBidRepository;
+import com.eauction.buyer.service.ReactiveBidService;
+import com.eauction.buyer.service.ReactiveProductService;
+import com.eauction.buyer.service.SequenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Resource;
+import java.util.Optional;
+
+import static com.eauction.buyer.service.impl.BidServiceImpl.addRangeCriteria;
+import static com.eauction.buyer.service.impl.BidServiceImpl.highestBidQuery;
+import static com.eauction.buyer.service.impl.BidServiceImpl.validateBidAndThrowException;
+import static com.eauction.buyer.service.impl.BidServiceImpl.validateProductForUpdateAndThrowException;
+import static com.eauction.buyer.util.ExceptionHelper.toTechnicalException;
+
+/**
+ * Reactive Bid Service Implementation Class to manage Bid Details through the reactive Mongo driver. The product
+ * lookups go through the non-blocking {@link ReactiveProductService} and the same {@link BidEvent}s are published as
+ * by the blocking implementation.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBidServiceImpl implements ReactiveBidService {
+
+    private static final String FIELD_PRODUCT_ID = "productId";
+    private static final String FIELD_BUYER_ID = "buyerId";
+    private static final String FIELD_BID_AMOUNT = "bidAmount";
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_BUYER = "buyer";
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    @Resource
+    private ReactiveBidRepository reactiveBidRepository;
+    @Autowired
+    private SequenceService sequenceService;
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+    @Autowired
+    private ReactiveMongoOperations reactiveMongoOperations;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private BidAmountMigration bidAmountMigration;
+
+    @Override
+    public Flux<Bid> getAllBids() {
+        return reactiveBidRepository.findAll();
+    }
+
+    @Override
+    public Flux<BidResponse> getBidResponses(Integer productId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(FIELD_PRODUCT_ID).is(productId)),
+                Aggregation.lookup(reactiveMongoOperations.getCollectionName(Buyer.class), FIELD_BUYER_ID, FIELD_ID, FIELD_BUYER),
+                Aggregation.unwind(FIELD_BUYER, true),
+                Aggregation.project(FIELD_PRODUCT_ID, FIELD_BID_AMOUNT, FIELD_BUYER));
+        return reactiveMongoOperations.aggregate(aggregation, reactiveMongoOperations.getCollectionName(Bid.class),
+                BidResponse.class);
+    }
+
+    @Override
+    public Mono<Bid> getHighestBid(Integer productId) {
+        return reactiveMongoOperations.findOne(highestBidQuery(productId, bidAmountMigration.isCompleted()), Bid.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotExistException(String.format("There is no bid placed " +
+                        "for the given product [productId: %s]", productId))));
+    }
+
+    @Override
+    public Flux<Bid> streamBids(BidFilter bidFilter) {
+        Query query = new Query();
+        addRangeCriteria(query, FIELD_PRODUCT_ID, bidFilter.getProductIdFrom(), bidFilter.getProductIdTo());
+        addRangeCriteria(query, FIELD_BUYER_ID, bidFilter.getBuyerIdFrom(), bidFilter.getBuyerIdTo());
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+        return reactiveMongoOperations.find(query, Bid.class);
+    }
+
+    @Override
+    public Mono<Bid> addBid(Bid bid) {
+        return getOptionalProduct(bid.getProductId())
+                .flatMap(optionalProduct -> {
+                    Product product = optionalProduct.orElse(null);
+                    validateBidAndThrowException(bid, product);
+                    // Refilling the block of ids is a blocking findAndModify, so it is kept off the event loop
+                    return Mono.fromCallable(() -> sequenceService.getNextSequence(Bid.SEQUENCE_NAME))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(bidId -> {
+                                bid.setId(bidId);
+                                return insertBidAndThrowException(bid, product);
+                            });
+                })
+                .doOnNext(insertedBid -> eventPublisher.publishEvent(new BidEvent(BidEvent.Type.PLACED, insertedBid)))
+                .onErrorMap(exc -> toTechnicalException(exc));
+    }
+
+    @Override
+    public Mono<Bid> updateBid(Integer buyerId, Integer productId, Long newBidAmount) {
+        Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(productId).and(FIELD_BUYER_ID).is(buyerId));
+        // Validates Bid exist
+        return reactiveMongoOperations.exists(query, Bid.class)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new ResourceNotExistException(String.format("The bid cannot be updated " +
+                                "as there is no bid exist for the given product [productId: %s, buyerId: %s]",
+                                productId, buyerId)));
+                    }
+                    return getOptionalProduct(productId);
+                })
+                .flatMap(optionalProduct -> {
+                    validateProductForUpdateAndThrowException(productId, optionalProduct.orElse(null));
+                    Update update = new Update().set(FIELD_BID_AMOUNT, newBidAmount);
+                    return reactiveMongoOperations.findAndModify(query, update,
+                            FindAndModifyOptions.options().returnNew(true), Bid.class);
+                })
+                .doOnNext(updatedBid -> eventPublisher.publishEvent(new BidEvent(BidEvent.Type.UPDATED, updatedBid)))
+                .onErrorMap(exc -> toTechnicalException(exc));
+    }
+
+    /**
+     * Returns the requested Product, so that a missing product reaches the validations instead of completing empty
+     */
+    private Mono<Optional<Product>> getOptionalProduct(Integer productId) {
+        return reactiveProductService.getProduct(productId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * Inserts the new Bid and signals an error if there is an existing bid for the same product and buyer. The
+     * duplicate is detected through the unique (productId, buyerId) index of the bid_info collection.
+     *
+     * @param bid refers to type {@link Bid}
+     * @param product refers to type {@link Product}
+     * @return a {@link Mono} of the inserted bid of type {@link Bid}
+     */
+    private Mono<Bid> insertBidAndThrowException(Bid bid, Product product) {
+        return reactiveBidRepository.insert(bid)
+                .onErrorResume(DuplicateKeyException.class, exc -> {
+                    Query query = new Query(Criteria.where(FIELD_PRODUCT_ID).is(bid.getProductId()).and(FIELD_BUYER_ID).is(bid.getBuyerId()));
+                    return reactiveMongoOperations.findOne(query, Bid.class)
+                            .defaultIfEmpty(bid)
+                            .flatMap(existingBid -> Mono.error(new ResourceExistException(String.format("The bid " +
+                                    "cannot be placed as there is an existing bid available for the given product " +
+                                    "[productId: %s, productName: %s, bidAmount: %s, buyerId: %s]",
+                                    existingBid.getProductId(), product.getProductName(), existingBid.getBidAmount(),
+                                    existingBid.getBuyerId()))));
+                });
+    }
+}
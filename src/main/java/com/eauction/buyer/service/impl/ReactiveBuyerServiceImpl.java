@@ -0,0 +1,91 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.cache.BuyerCache;
+import com.eauction.buyer.exception.InvalidDataException;
+import com.eauction.buyer.exception.ResourceNotExistException;
+import com.eauction.buyer.model.Buyer;
+import com.eauction.buyer.repo.reactive.ReactiveBuyerRepository;
+import com.eauction.buyer.service.ReactiveBuyerService;
+import com.eauction.buyer.service.SequenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import javax.annotation.Resource;
+import java.util.Objects;
+
+import static com.eauction.buyer.service.impl.BuyerServiceImpl.validateBuyerAndThrowException;
+import static com.eauction.buyer.util.ExceptionHelper.toTechnicalException;
+
+/**
+ * Reactive Buyer Service Implementation Class to manage Buyer Details through the reactive Mongo driver
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBuyerServiceImpl implements ReactiveBuyerService {
+
+    @Resource
+    private ReactiveBuyerRepository reactiveBuyerRepository;
+    @Autowired
+    private SequenceService sequenceService;
+    @Autowired
+    private BuyerCache buyerCache;
+
+    @Override
+    public Mono<Buyer> getBuyer(String buyerEmail) {
+        if (Objects.isNull(buyerEmail)) {
+            return Mono.error(new ResourceNotExistException("The requested Buyer doesn't exist [buyerEmail: null]"));
+        }
+        Buyer cachedBuyer = buyerCache.get(buyerEmail);
+        if (Objects.nonNull(cachedBuyer)) {
+            return Mono.just(cachedBuyer);
+        }
+        // Loads through the cache so that an invalidation during the load is never overwritten by the loaded Buyer,
+        // the load holds the entry's lock and is therefore kept off the event loop
+        return Mono.fromCallable(() -> buyerCache.get(buyerEmail,
+                        email -> reactiveBuyerRepository.findByEmail(email).block()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotExistException(String.format("The requested Buyer " +
+                        "doesn't exist [buyerEmail: %s]", buyerEmail))))
+                .onErrorMap(exc -> toTechnicalException(exc));
+    }
+
+    @Override
+    public Mono<Buyer> addBuyer(Buyer buyer) {
+        return Mono.defer(() -> saveBuyer(buyer))
+                // A concurrent request added the same email first, the retry updates that buyer instead
+                .retryWhen(Retry.max(1).filter(DuplicateKeyException.class::isInstance))
+                .doFinally(signal -> {
+                    if (Objects.nonNull(buyer)) {
+                        buyerCache.invalidate(buyer.getEmail());
+                    }
+                })
+                .onErrorMap(exc -> toTechnicalException(exc));
+    }
+
+    private Mono<Buyer> saveBuyer(Buyer buyer) {
+        return Mono.fromCallable(() -> {
+                    if (Objects.isNull(buyer)) {
+                        throw new InvalidDataException("The buyer cannot be added as the buyerRequest is missing");
+                    }
+                    validateBuyerAndThrowException(buyer);
+                    return buyer.getEmail();
+                })
+                .flatMap(reactiveBuyerRepository::findByEmail)
+                .map(Buyer::getId)
+                // Refilling the block of ids is a blocking findAndModify, so it is kept off the event loop
+                .switchIfEmpty(Mono.fromCallable(() -> sequenceService.getNextSequence(Buyer.SEQUENCE_NAME))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(buyerId -> {
+                    buyer.setId(buyerId);
+                    return reactiveBuyerRepository.save(buyer);
+                });
+    }
+}
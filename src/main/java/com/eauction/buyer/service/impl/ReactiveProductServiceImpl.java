@@ -0,0 +1,72 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.cache.ProductCache;
+import com.eauction.buyer.config.SellerServiceConfig;
+import com.eauction.buyer.dto.Product;
+import com.eauction.buyer.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reactive Product Service Implementation Class to retrieve Product Details from the Seller Service through a
+ * non-blocking {@link WebClient}. Shares the {@link ProductCache} with the blocking implementation.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+@Profile("reactive")
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    private static final String PARAM_PRODUCT_ID = "product-id";
+
+    @Autowired
+    private SellerServiceConfig sellerServiceConfig;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private WebClient sellerServiceWebClient;
+
+    @Override
+    public Mono<Product> getProduct(Integer productId) {
+        if (Objects.isNull(productId)) {
+            return Mono.empty();
+        }
+        Optional<Product> cachedProduct = productCache.get(productId);
+        if (Objects.nonNull(cachedProduct)) {
+            return Mono.justOrEmpty(cachedProduct);
+        }
+        return getProductFromSellerService(productId)
+                .doOnNext(product -> productCache.put(productId, product))
+                .switchIfEmpty(Mono.fromRunnable(() -> productCache.putNotFound(productId)));
+    }
+
+    private Mono<Product> getProductFromSellerService(Integer productId) {
+        URI endpointUri = UriComponentsBuilder.newInstance()
+                .scheme(sellerServiceConfig.getScheme())
+                .host(sellerServiceConfig.getHost())
+                .port(sellerServiceConfig.getPort())
+                .path(sellerServiceConfig.getProductSearch())
+                .buildAndExpand(Collections.singletonMap(PARAM_PRODUCT_ID, productId)).toUri();
+
+        // Invokes Seller Service to retrieve Product
+        return sellerServiceWebClient.get()
+                .uri(endpointUri)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(Product.class)
+                // Seller Service responds with 404 for an unknown product
+                .onErrorResume(WebClientResponseException.NotFound.class, exc -> Mono.empty());
+    }
+}
@@ -1,7 +1,9 @@
 package com.eauction.buyer.service.impl;
 
+import com.eauction.buyer.config.SequenceConfig;
 import com.eauction.buyer.model.IdSequence;
 import com.eauction.buyer.service.SequenceService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
@@ -10,10 +12,19 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Sequence Service Implementation class to generate custom sequences
+ * Sequence Service Implementation class to generate custom sequences. Each instance reserves a block of ids with a
+ * single atomic increment and hands them out from memory until the block is exhausted.
  *
  * @author Sandhya S S
  * @since 15/06/2022
@@ -21,14 +32,116 @@ import java.util.Objects;
 @Service
 public class SequenceServiceImpl implements SequenceService {
 
+    private static final String TIMER_NAME = "sequence.service";
+
     @Autowired
     private MongoOperations mongoOperations;
+    @Autowired
+    private SequenceConfig sequenceConfig;
+
+    private final ConcurrentMap<String, IdBlock> idBlocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Lock> refillLocks = new ConcurrentHashMap<>();
 
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
     public Integer getNextSequence(String sequenceName) {
+        IdBlock idBlock = idBlocks.get(sequenceName);
+        while (true) {
+            if (Objects.nonNull(idBlock)) {
+                int nextId = idBlock.next();
+                if (nextId > 0) {
+                    return nextId;
+                }
+            }
+            idBlock = refillBlock(sequenceName, idBlock);
+        }
+    }
+
+    /**
+     * Replaces the exhausted block of the given sequence with a newly reserved one. The block is reserved under a lock
+     * of the sequence only, outside of the map, so that the Mongo round trip holds up no other sequence, and is swapped
+     * in only if no other thread replaced the exhausted block meanwhile.
+     *
+     * @param sequenceName refers to attribute {@code id} of type {@link IdSequence}
+     * @param exhaustedBlock refers to the exhausted {@link IdBlock}, {@code null} if there is none yet
+     * @return the current {@link IdBlock} of the sequence
+     */
+    private IdBlock refillBlock(String sequenceName, IdBlock exhaustedBlock) {
+        Lock refillLock = refillLocks.computeIfAbsent(sequenceName, name -> new ReentrantLock());
+        refillLock.lock();
+        try {
+            IdBlock currentBlock = idBlocks.get(sequenceName);
+            if (currentBlock != exhaustedBlock) {
+                return currentBlock;
+            }
+            IdBlock reservedBlock = reserveBlock(sequenceName);
+            boolean swapped = Objects.isNull(exhaustedBlock)
+                    ? Objects.isNull(idBlocks.putIfAbsent(sequenceName, reservedBlock))
+                    : idBlocks.replace(sequenceName, exhaustedBlock, reservedBlock);
+            return swapped ? reservedBlock : idBlocks.get(sequenceName);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    @Timed(value = TIMER_NAME, histogram = true)
+    @Override
+    public List<Integer> getNextSequences(String sequenceName, int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        IdBlock idBlock = reserveBlock(sequenceName, count);
+        List<Integer> sequences = new ArrayList<>(count);
+        for (int nextId = idBlock.next(); nextId > 0; nextId = idBlock.next()) {
+            sequences.add(nextId);
+        }
+        return sequences;
+    }
+
+    @Override
+    public void resetSequences() {
+        idBlocks.clear();
+    }
+
+    private IdBlock reserveBlock(String sequenceName) {
+        return reserveBlock(sequenceName, Math.max(1, sequenceConfig.getBlockSize()));
+    }
+
+    /**
+     * Reserves the next block of ids for the given sequence
+     *
+     * @param sequenceName refers to attribute {@code id} of type {@link IdSequence}
+     * @param blockSize refers to the number of ids to reserve
+     * @return a newly reserved {@link IdBlock}
+     */
+    private IdBlock reserveBlock(String sequenceName, int blockSize) {
         Query query = new Query(Criteria.where("id").is(sequenceName));
-        Update update = new Update().inc("sequence", 1);
+        Update update = new Update().inc("sequence", blockSize);
         IdSequence sequenceCounter = mongoOperations.findAndModify(query, update,
                 FindAndModifyOptions.options().returnNew(true).upsert(true), IdSequence.class);
-        return Objects.nonNull(sequenceCounter) ? sequenceCounter.getSequence() : 1;
+        int lastId = Objects.nonNull(sequenceCounter) ? sequenceCounter.getSequence() : blockSize;
+        return new IdBlock(lastId - blockSize + 1, lastId);
+    }
+
+    /**
+     * A reserved range of ids, handed out lock-free
+     */
+    private static class IdBlock {
+
+        private final AtomicInteger nextId;
+        private final int lastId;
+
+        IdBlock(int firstId, int lastId) {
+            this.nextId = new AtomicInteger(firstId);
+            this.lastId = lastId;
+        }
+
+        /**
+         * @return the next id of this block or {@code -1} once the block is exhausted
+         */
+        int next() {
+            int id = nextId.getAndIncrement();
+            return id <= lastId ? id : -1;
+        }
     }
 }
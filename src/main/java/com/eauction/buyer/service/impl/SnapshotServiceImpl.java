@@ -0,0 +1,243 @@
+package com.eauction.buyer.service.impl;
+
+import com.eauction.buyer.cache.BuyerCache;
+import com.eauction.buyer.config.SnapshotConfig;
+import com.eauction.buyer.dto.SnapshotInfo;
+import com.eauction.buyer.exception.InvalidDataException;
+import com.eauction.buyer.exception.ResourceNotExistException;
+import com.eauction.buyer.exception.TechnicalException;
+import com.eauction.buyer.model.Bid;
+import com.eauction.buyer.model.Buyer;
+import com.eauction.buyer.model.IdSequence;
+import com.eauction.buyer.service.LeaderboardService;
+import com.eauction.buyer.service.SequenceService;
+import com.eauction.buyer.service.SnapshotService;
+import com.eauction.buyer.snapshot.MappedFileInputStream;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.ByteBuf;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot Service Implementation Class writing each collection as gzip compressed BSON documents. A BSON document
+ * starts with its own length, so the documents are written back to back without any further framing and are read
+ * back through a memory-mapped file with constant memory use.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+@Service
+public class SnapshotServiceImpl implements SnapshotService {
+
+    private static final Logger eLog = LoggerFactory.getLogger(SnapshotServiceImpl.class);
+
+    private static final String FILE_EXTENSION = ".bson.gz";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final DateTimeFormatter NAME_FORMATTER = DateTimeFormatter.ofPattern("'snapshot-'yyyyMMdd-HHmmss-SSS");
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+    @Autowired
+    private SnapshotConfig snapshotConfig;
+    @Autowired
+    private LeaderboardService leaderboardService;
+    @Autowired
+    private SequenceService sequenceService;
+    @Autowired
+    private BuyerCache buyerCache;
+
+    @Override
+    public SnapshotInfo exportSnapshot() {
+        long startTime = System.currentTimeMillis();
+        String name = LocalDateTime.now().format(NAME_FORMATTER);
+        Path snapshotDirectory = Paths.get(snapshotConfig.getDirectory(), name);
+        Path tempDirectory = Paths.get(snapshotConfig.getDirectory(), name + TEMP_EXTENSION);
+        List<SnapshotInfo.CollectionSnapshot> collections = new ArrayList<>();
+        try {
+            Files.createDirectories(tempDirectory);
+            for (String collectionName : collectionNames()) {
+                collections.add(exportCollection(collectionName, tempDirectory.resolve(collectionName + FILE_EXTENSION)));
+            }
+            // A snapshot only becomes visible once all of its collections are written
+            Files.move(tempDirectory, snapshotDirectory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exc) {
+            throw new TechnicalException(String.format("The snapshot cannot be exported [name: %s]: %s", name,
+                    exc.getMessage()), exc, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        SnapshotInfo snapshotInfo = SnapshotInfo.builder()
+                .name(name)
+                .collections(collections)
+                .timeTakenMillis(System.currentTimeMillis() - startTime)
+                .build();
+        eLog.info("Snapshot exported {}", snapshotInfo);
+        return snapshotInfo;
+    }
+
+    @Override
+    public SnapshotInfo importSnapshot(String name, boolean replace) {
+        long startTime = System.currentTimeMillis();
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new InvalidDataException(String.format("The snapshot cannot be imported as the name is invalid " +
+                    "[name: %s]", name));
+        }
+        Path snapshotDirectory = Paths.get(snapshotConfig.getDirectory(), name);
+        if (!Files.isDirectory(snapshotDirectory)) {
+            throw new ResourceNotExistException(String.format("The requested snapshot doesn't exist [name: %s]", name));
+        }
+        List<SnapshotInfo.CollectionSnapshot> collections = new ArrayList<>();
+        try {
+            for (String collectionName : collectionNames()) {
+                Path snapshotFile = snapshotDirectory.resolve(collectionName + FILE_EXTENSION);
+                if (Files.exists(snapshotFile)) {
+                    collections.add(importCollection(collectionName, snapshotFile, replace));
+                }
+            }
+        } catch (IOException exc) {
+            throw new TechnicalException(String.format("The snapshot cannot be imported [name: %s]: %s", name,
+                    exc.getMessage()), exc, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        // Ids reserved before the import may already be taken by the imported documents
+        sequenceService.resetSequences();
+        leaderboardService.reload();
+        buyerCache.invalidateAll();
+        SnapshotInfo snapshotInfo = SnapshotInfo.builder()
+                .name(name)
+                .collections(collections)
+                .timeTakenMillis(System.currentTimeMillis() - startTime)
+                .build();
+        eLog.info("Snapshot imported {}", snapshotInfo);
+        return snapshotInfo;
+    }
+
+    private List<String> collectionNames() {
+        return List.of(mongoOperations.getCollectionName(Buyer.class),
+                mongoOperations.getCollectionName(Bid.class),
+                mongoOperations.getCollectionName(IdSequence.class));
+    }
+
+    private SnapshotInfo.CollectionSnapshot exportCollection(String collectionName, Path snapshotFile) throws IOException {
+        // Reads from a secondary where there is one, to keep the export away from the live traffic
+        MongoCollection<RawBsonDocument> collection = mongoOperations.getCollection(collectionName)
+                .withDocumentClass(RawBsonDocument.class)
+                .withReadPreference(ReadPreference.secondaryPreferred());
+        long documents = 0;
+        try (OutputStream outputStream = new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(snapshotFile), BUFFER_SIZE), BUFFER_SIZE);
+             MongoCursor<RawBsonDocument> cursor = collection.find().batchSize(snapshotConfig.getBatchSize()).iterator()) {
+            while (cursor.hasNext()) {
+                ByteBuf document = cursor.next().getByteBuffer();
+                outputStream.write(document.array(), document.position(), document.remaining());
+                documents++;
+            }
+        }
+        return SnapshotInfo.CollectionSnapshot.builder()
+                .collection(collectionName)
+                .documents(documents)
+                .skippedDocuments(0L)
+                .bytes(Files.size(snapshotFile))
+                .build();
+    }
+
+    private SnapshotInfo.CollectionSnapshot importCollection(String collectionName, Path snapshotFile,
+                                                             boolean replace) throws IOException {
+        MongoCollection<RawBsonDocument> collection = mongoOperations.getCollection(collectionName)
+                .withDocumentClass(RawBsonDocument.class);
+        if (replace) {
+            // Keeps the collection and with it the indexes
+            mongoOperations.getCollection(collectionName).deleteMany(new Document());
+        }
+        int batchSize = Math.max(1, snapshotConfig.getBatchSize());
+        long[] counts = new long[2];
+        List<RawBsonDocument> batch = new ArrayList<>(batchSize);
+        try (DataInputStream inputStream = new DataInputStream(
+                new GZIPInputStream(new MappedFileInputStream(snapshotFile), BUFFER_SIZE))) {
+            for (RawBsonDocument document = readDocument(inputStream); document != null;
+                 document = readDocument(inputStream)) {
+                batch.add(document);
+                if (batch.size() == batchSize) {
+                    insertBatch(collection, batch, counts);
+                }
+            }
+            insertBatch(collection, batch, counts);
+        }
+        return SnapshotInfo.CollectionSnapshot.builder()
+                .collection(collectionName)
+                .documents(counts[0])
+                .skippedDocuments(counts[1])
+                .bytes(Files.size(snapshotFile))
+                .build();
+    }
+
+    /**
+     * Reads the next BSON document, whose first four bytes hold its total length in little endian order
+     *
+     * @return the next document or {@code null} at the end of the snapshot file
+     */
+    private static RawBsonDocument readDocument(DataInputStream inputStream) throws IOException {
+        int firstByte = inputStream.read();
+        if (firstByte < 0) {
+            return null;
+        }
+        byte[] lengthBytes = new byte[3];
+        inputStream.readFully(lengthBytes);
+        int length = firstByte | (lengthBytes[0] & 0xFF) << 8 | (lengthBytes[1] & 0xFF) << 16 | (lengthBytes[2] & 0xFF) << 24;
+        if (length < 5) {
+            throw new StreamCorruptedException(String.format("Invalid BSON document length %s", length));
+        }
+        byte[] document = new byte[length];
+        document[0] = (byte) firstByte;
+        System.arraycopy(lengthBytes, 0, document, 1, lengthBytes.length);
+        inputStream.readFully(document, 4, length - 4);
+        return new RawBsonDocument(document);
+    }
+
+    /**
+     * Inserts and clears the given batch, counting the inserted documents and the ones skipped as their id exists
+     */
+    private static void insertBatch(MongoCollection<RawBsonDocument> collection, List<RawBsonDocument> batch,
+                                    long[] counts) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            collection.insertMany(batch, new InsertManyOptions().ordered(false));
+            counts[0] += batch.size();
+        } catch (MongoBulkWriteException exc) {
+            for (BulkWriteError writeError : exc.getWriteErrors()) {
+                if (writeError.getCode() != DUPLICATE_KEY_ERROR) {
+                    throw exc;
+                }
+            }
+            counts[0] += exc.getWriteResult().getInsertedCount();
+            counts[1] += exc.getWriteErrors().size();
+        }
+        batch.clear();
+    }
+}
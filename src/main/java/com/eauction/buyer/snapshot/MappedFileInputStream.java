@@ -0,0 +1,79 @@
+package com.eauction.buyer.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Input Stream reading a file through memory-mapped regions, so that the file is read at disk speed without copying
+ * it through a kernel read buffer. Files larger than a region are mapped one region after the other.
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class MappedFileInputStream extends InputStream {
+
+    private static final long REGION_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel fileChannel;
+    private final long fileSize;
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = fileChannel.size();
+        this.regionStart = 0L;
+        this.region = mapRegion();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextRegionIfExhausted()) {
+            return -1;
+        }
+        return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextRegionIfExhausted()) {
+            return -1;
+        }
+        int count = Math.min(length, region.remaining());
+        region.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return region.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    private boolean nextRegionIfExhausted() throws IOException {
+        while (!region.hasRemaining()) {
+            regionStart += region.capacity();
+            if (regionStart >= fileSize) {
+                return false;
+            }
+            region = mapRegion();
+        }
+        return true;
+    }
+
+    private MappedByteBuffer mapRegion() throws IOException {
+        return fileChannel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                Math.min(REGION_SIZE, fileSize - regionStart));
+    }
+}
@@ -1,14 +1,20 @@
 package com.eauction.buyer.util;
 
 import com.eauction.buyer.dto.BidBuyerRequest;
+import com.eauction.buyer.exception.InvalidDataException;
 import com.eauction.buyer.model.Bid;
 import com.eauction.buyer.model.Buyer;
 import org.apache.commons.lang3.StringUtils;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
 import java.util.Objects;
 
 /**
@@ -20,6 +26,17 @@ import java.util.Objects;
 public class BuyerHelper {
 
     private static final String DATE_FORMAT = "dd-MM-yyyy";
+    // Accepts one or two digit days and months as well, like the dd-MM-yyyy SimpleDateFormat did
+    private static final DateTimeFormatter DATE_FORMATTER = new DateTimeFormatterBuilder()
+            .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral('-')
+            .appendValue(ChronoField.MONTH_OF_YEAR, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral('-')
+            .appendPattern("yyyy")
+            .toFormatter()
+            .withResolverStyle(ResolverStyle.LENIENT);
+
+    private static volatile Today today = new Today(System.currentTimeMillis());
 
     private BuyerHelper() {
         throw new IllegalStateException("Utility class");
@@ -47,47 +64,107 @@ public class BuyerHelper {
         if (Objects.nonNull(bidBuyerRequest) && Objects.nonNull(bidBuyerRequest.getBidRequest())) {
             bid = Bid.builder()
                     .productId(bidBuyerRequest.getBidRequest().getProductId())
-                    .bidAmount(bidBuyerRequest.getBidRequest().getBidAmount())
+                    .bidAmount(toBidAmount(bidBuyerRequest.getBidRequest().getBidAmount()))
                     .buyerId(buyerId)
                     .build();
         }
         return bid;
     }
 
-    public static Date now() {
-        return new Date();
+    /**
+     * Validates and Throw Exception for a batch larger than the allowed size
+     *
+     * @param batchSize refers to the number of requests in the batch
+     * @param maxBatchSize refers to the maximum number of requests allowed in a batch
+     * @throws InvalidDataException if the batch is larger than allowed
+     */
+    public static void validateBatchSizeAndThrowException(int batchSize, int maxBatchSize) {
+        if (batchSize > maxBatchSize) {
+            throw new InvalidDataException(String.format("The batch cannot be processed as it is larger than " +
+                    "allowed [batchSize: %s, maxBatchSize: %s]", batchSize, maxBatchSize));
+        }
+    }
+
+    /**
+     * Converts the requested bid amount into its numeric representation
+     *
+     * @param bidAmount refers to the requested bid amount
+     * @return the bid amount as {@link Long}
+     * @throws InvalidDataException if the bid amount is empty or not numeric
+     */
+    public static Long toBidAmount(String bidAmount) {
+        if (StringUtils.isNotBlank(bidAmount) && StringUtils.isNumeric(bidAmount)) {
+            try {
+                return Long.valueOf(bidAmount);
+            } catch (NumberFormatException exc) {
+                // Falls through to the exception below
+            }
+        }
+        throw new InvalidDataException(String.format("The bidAmount is either empty or not numeric [bidAmount: %s]",
+                bidAmount));
     }
 
-    public static Date toDate(String dateString) {
+    /**
+     * Converts the given date string into its epoch day
+     *
+     * @param dateString refers to a date in {@value DATE_FORMAT} format
+     * @return the epoch day or {@code null} if the date string is empty or not a valid date
+     */
+    public static Long toEpochDay(String dateString) {
         if (StringUtils.isBlank(dateString)) {
             return null;
         }
-        Date date = null;
         try {
-            DateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
-            dateFormat.setLenient(true);
-            date = dateFormat.parse(dateString);
-        } catch (Exception exc) {
+            return LocalDate.parse(dateString, DATE_FORMATTER).toEpochDay();
+        } catch (DateTimeParseException exc) {
             return null;
         }
-        return date;
     }
 
-    public static boolean isFutureDate(Date date) {
-        return isFutureDate(new Date(), date);
+    /**
+     * Returns the start of the given epoch day in the system time zone
+     *
+     * @param epochDay refers to the epoch day
+     * @return the start of the day in milliseconds since the epoch
+     */
+    public static long toEpochMilli(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
-    public static boolean isFutureDate(Date sourceDate, Date targetDate) {
-        return stripTimeFromDate(sourceDate).before(stripTimeFromDate(targetDate));
+    /**
+     * Returns the current epoch day in the system time zone without allocating, except once a day
+     *
+     * @return the current epoch day
+     */
+    public static long todayEpochDay() {
+        Today current = today;
+        long currentTimeMillis = System.currentTimeMillis();
+        if (currentTimeMillis < current.dayStartMillis || currentTimeMillis >= current.nextDayStartMillis) {
+            current = new Today(currentTimeMillis);
+            today = current;
+        }
+        return current.epochDay;
     }
 
-    private static Calendar stripTimeFromDate(Date date) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
-        return cal;
+    public static boolean isFutureEpochDay(Long epochDay) {
+        return Objects.nonNull(epochDay) && todayEpochDay() < epochDay;
+    }
+
+    /**
+     * The current day and its bounds, replaced once the day is over
+     */
+    private static final class Today {
+
+        private final long epochDay;
+        private final long dayStartMillis;
+        private final long nextDayStartMillis;
+
+        private Today(long currentTimeMillis) {
+            ZoneId zoneId = ZoneId.systemDefault();
+            LocalDate date = Instant.ofEpochMilli(currentTimeMillis).atZone(zoneId).toLocalDate();
+            this.epochDay = date.toEpochDay();
+            this.dayStartMillis = date.atStartOfDay(zoneId).toInstant().toEpochMilli();
+            this.nextDayStartMillis = date.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        }
     }
 }
@@ -0,0 +1,44 @@
+package com.eauction.buyer.util;
+
+import com.eauction.buyer.exception.TechnicalException;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Optional;
+
+/**
+ * Exception Helper class to translate exceptions into {@link TechnicalException}
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class ExceptionHelper {
+
+    // Resolves the @ResponseStatus of an exception type once
+    private static final ClassValue<Optional<HttpStatus>> RESPONSE_STATUS = new ClassValue<>() {
+        @Override
+        protected Optional<HttpStatus> computeValue(Class<?> type) {
+            return Optional.ofNullable(AnnotationUtils.findAnnotation(type, ResponseStatus.class))
+                    .map(ResponseStatus::code);
+        }
+    };
+
+    private ExceptionHelper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the given exception as {@link TechnicalException}. A {@link TechnicalException} is returned as is,
+     * any other exception is wrapped with the status of its {@link ResponseStatus} annotation.
+     *
+     * @param exc refers to the exception to translate
+     * @return an instance of {@link TechnicalException}
+     */
+    public static TechnicalException toTechnicalException(Throwable exc) {
+        if (exc instanceof TechnicalException) {
+            return (TechnicalException) exc;
+        }
+        return new TechnicalException(exc.getMessage(), exc, RESPONSE_STATUS.get(exc.getClass()).orElse(null));
+    }
+}
@@ -0,0 +1,72 @@
+package com.eauction.buyer.util;
+
+import com.eauction.buyer.exception.TechnicalException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.eauction.buyer.util.ExceptionHelper.toTechnicalException;
+
+/**
+ * Future Helper class to join the I/O started next to a request
+ *
+ * @author Sandhya S S
+ * @since 15/06/2022
+ */
+public class FutureHelper {
+
+    private FutureHelper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Waits for the given future and rethrows its failure as {@link TechnicalException}. The task is cancelled if the
+     * waiting thread is interrupted.
+     *
+     * @param future refers to the {@link Future} to wait for
+     * @param <T> refers to the result type
+     * @return the result of the future
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException exc) {
+            throw toTechnicalException(exc.getCause());
+        } catch (InterruptedException exc) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("The request was interrupted", exc, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (CancellationException exc) {
+            throw new TechnicalException("The request was cancelled", exc, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Waits at most the given timeout for the given future and rethrows its failure as {@link TechnicalException}.
+     * The future is left running if the timeout elapses.
+     *
+     * @param future refers to the {@link Future} to wait for
+     * @param timeout refers to the maximum time to wait
+     * @param <T> refers to the result type
+     * @return the result of the future
+     */
+    public static <T> T await(Future<T> future, Duration timeout) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException exc) {
+            throw toTechnicalException(exc.getCause());
+        } catch (TimeoutException exc) {
+            throw new TechnicalException("The request timed out", exc, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("The request was interrupted", exc, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (CancellationException exc) {
+            throw new TechnicalException("The request was cancelled", exc, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}